@@ -0,0 +1,107 @@
+package com.nextbeer.website.config.appConfig;
+
+import com.nextbeer.website.service.serviceImpl.CatalogVersion;
+import com.nextbeer.website.util.AcceptEncoding;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Conditional GETs for the public catalog endpoints. The ETag is the catalog version, so a
+ * matching If-None-Match is answered with 304 before the controller, the database or Jackson
+ * are involved. The header itself is only added once a 2xx body is written, so not-found and
+ * error responses never carry it, and a gzipped body gets its own tag.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class CatalogETagInterceptor implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    private static final String ETAG_ATTRIBUTE = CatalogETagInterceptor.class.getName() + ".etag";
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    private final CatalogVersion catalogVersion;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        // Read before the controller queries, so a concurrent write can only make the ETag older than the body
+        String etag = catalogVersion.etag();
+        String matched = match(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag, acceptsGzip(request));
+        if (matched != null) {
+            response.setHeader(HttpHeaders.ETAG, matched);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        return true;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)
+                || !(response instanceof ServletServerHttpResponse servletResponse)
+                || !(servletRequest.getServletRequest().getAttribute(ETAG_ATTRIBUTE) instanceof String etag)) {
+            return body;
+        }
+        int status = servletResponse.getServletResponse().getStatus();
+        if (status < 200 || status >= 300) {
+            return body;
+        }
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag("gzip".equals(headers.getFirst(HttpHeaders.CONTENT_ENCODING)) ? gzipped(etag) : etag);
+        headers.setCacheControl(CacheControl.noCache());
+        return body;
+    }
+
+    // Mirrors the catalog controller, which serves gzip whenever the client accepts it
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        return AcceptEncoding.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    private static String gzipped(String etag) {
+        return etag.substring(0, etag.length() - 1) + GZIP_SUFFIX + "\"";
+    }
+
+    // The tag of the representation the client holds, or null when it is stale
+    private static String match(String ifNoneMatch, String etag, boolean acceptsGzip) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || tag.equals("*")) {
+                return etag;
+            }
+            if (acceptsGzip && tag.equals(gzipped(etag))) {
+                return tag;
+            }
+        }
+        return null;
+    }
+}
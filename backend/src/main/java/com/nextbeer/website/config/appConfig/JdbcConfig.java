@@ -0,0 +1,30 @@
+package com.nextbeer.website.config.appConfig;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class JdbcConfig {
+
+    public static final String STREAMING = "streamingJdbcTemplate";
+
+    // Declaring any JdbcTemplate turns off Boot's, so the ordinary one is declared here as well
+    @Bean
+    @Primary
+    public JdbcTemplate jdbcTemplate(DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
+
+    // Integer.MIN_VALUE makes Connector/J stream the result set row by row, for reads too large to hold in memory
+    @Bean(STREAMING)
+    public JdbcTemplate streamingJdbcTemplate(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        return jdbcTemplate;
+    }
+}
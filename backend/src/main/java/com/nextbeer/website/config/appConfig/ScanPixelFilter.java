@@ -0,0 +1,70 @@
+package com.nextbeer.website.config.appConfig;
+
+import com.nextbeer.website.enums.ScanIngestionResult;
+import com.nextbeer.website.service.QRAnalyticsService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * Scan endpoint answered by a plain servlet filter ahead of Spring Security and the
+ * DispatcherServlet. GET returns a cached 1x1 transparent GIF for image pings and POST returns
+ * 204 for navigator.sendBeacon; both only hand the scan to the ingestion buffer through
+ * {@link QRAnalyticsService#queueScan}, so this path never writes to the database even in DIRECT
+ * ingestion mode. The request never continues down the filter chain.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ScanPixelFilter implements Filter {
+
+    private static final byte[] PIXEL = Base64.getDecoder().decode("R0lGODlhAQABAIAAAAAAAP///yH5BAEAAAAALAAAAAABAAEAAAIBRAA7");
+
+    private final QRAnalyticsService analyticsService;
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+        boolean pixel = "GET".equals(request.getMethod());
+        if (!pixel && !"POST".equals(request.getMethod())) {
+            response.setHeader(HttpHeaders.ALLOW, "GET, POST");
+            response.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            return;
+        }
+
+        ScanIngestionResult result;
+        try {
+            result = analyticsService.queueScan(
+                    request.getRemoteAddr(), request.getHeader(HttpHeaders.USER_AGENT), request.getParameter("source"));
+        } catch (RuntimeException e) {
+            // Nothing above the filter would map the exception, and a lost scan must not break the page
+            log.warn("Pixel scan dropped", e);
+            result = ScanIngestionResult.QUEUED;
+        }
+        if (result == ScanIngestionResult.REJECTED) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "5");
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        // Every ping has to reach the server, so neither the browser nor a proxy may reuse the response
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        if (!pixel) {
+            response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+            return;
+        }
+        response.setContentType("image/gif");
+        response.setContentLength(PIXEL.length);
+        response.getOutputStream().write(PIXEL);
+    }
+}
@@ -0,0 +1,21 @@
+package com.nextbeer.website.config.appConfig;
+
+import com.nextbeer.website.service.QRAnalyticsService;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class ScanPixelFilterConfig {
+
+    // Registered only for the pixel path and ordered before the security filter chain
+    @Bean
+    public FilterRegistrationBean<ScanPixelFilter> scanPixelFilter(QRAnalyticsService analyticsService) {
+        FilterRegistrationBean<ScanPixelFilter> registration = new FilterRegistrationBean<>(new ScanPixelFilter(analyticsService));
+        registration.addUrlPatterns("/api/v1/qr-pixel");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setName("scanPixelFilter");
+        return registration;
+    }
+}
@@ -1,8 +1,10 @@
 package com.nextbeer.website.config.appConfig;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -11,8 +13,21 @@ import org.springframework.web.servlet.resource.PathResourceResolver;
 import java.io.IOException;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final CatalogETagInterceptor catalogETagInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Popular items move with every view, not with admin writes, and a 304 for an item detail
+        // would skip the controller that counts the view
+        registry.addInterceptor(catalogETagInterceptor)
+                .addPathPatterns("/api/v1/menus/**", "/api/v1/categories/**", "/api/v1/items/**",
+                        "/api/v1/itemTags/**", "/api/v1/restaurant/**", "/api/v1/catalog")
+                .excludePathPatterns("/api/v1/items/popular", "/api/v1/items/{id:\\d+}");
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // AWS Docker Volume - Upload images
@@ -96,6 +96,7 @@ public class SecurityConfig {
                     auth.requestMatchers(HttpMethod.GET, "/api/v1/campaigns/**").permitAll();
                     auth.requestMatchers(HttpMethod.GET, "/api/v1/itemTags/**").permitAll();
                     auth.requestMatchers(HttpMethod.GET, "/api/v1/restaurant/**").permitAll();
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/catalog").permitAll();
                     auth.requestMatchers(HttpMethod.POST, "/api/v1/qr-track").permitAll();
 
                     // Swagger
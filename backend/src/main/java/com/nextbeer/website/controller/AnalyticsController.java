@@ -1,16 +1,34 @@
 package com.nextbeer.website.controller;
 
+import com.nextbeer.website.dto.request.AnalyticsCompareRequestDto;
 import com.nextbeer.website.dto.request.AnalyticsRequestDto;
+import com.nextbeer.website.dto.request.QRSourceRequestDto;
 import com.nextbeer.website.dto.response.DailyChartData;
+import com.nextbeer.website.dto.response.DashboardOverview;
 import com.nextbeer.website.dto.response.DashboardStats;
 import com.nextbeer.website.dto.response.HourlyChartData;
+import com.nextbeer.website.dto.response.RangeComparison;
+import com.nextbeer.website.dto.response.ScanHeatMap;
+import com.nextbeer.website.dto.response.SourceScanStats;
+import com.nextbeer.website.dto.response.TimeBucketData;
+import com.nextbeer.website.dto.response.VisitorStats;
+import com.nextbeer.website.model.DateRange;
 import com.nextbeer.website.service.QRAnalyticsService;
+import com.nextbeer.website.service.serviceImpl.LiveScanBroadcaster;
+import com.nextbeer.website.service.serviceImpl.ScanCsvExporter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -20,6 +38,8 @@ import java.util.List;
 public class AnalyticsController {
 
     private final QRAnalyticsService analyticsService;
+    private final LiveScanBroadcaster liveScanBroadcaster;
+    private final ScanCsvExporter scanCsvExporter;
 
     @PostMapping("/stats")
     public ResponseEntity<DashboardStats> getDashboardStats(@Valid @RequestBody AnalyticsRequestDto request) {
@@ -27,7 +47,7 @@ public class AnalyticsController {
     }
 
     @PostMapping("/chart")
-    public ResponseEntity<List<DailyChartData>> getChart(@RequestBody AnalyticsRequestDto request) {
+    public ResponseEntity<List<DailyChartData>> getChart(@Valid @RequestBody AnalyticsRequestDto request) {
         return ResponseEntity.ok(analyticsService.getChartData(request));
     }
 
@@ -35,4 +55,82 @@ public class AnalyticsController {
     public ResponseEntity<List<HourlyChartData>> getTodayHourlyChart() {
         return ResponseEntity.ok(analyticsService.getTodayHourlyChart());
     }
+
+    @PostMapping("/overview")
+    public ResponseEntity<DashboardOverview> getDashboardOverview(@Valid @RequestBody AnalyticsRequestDto request) {
+        return ResponseEntity.ok(analyticsService.getDashboardOverview(request));
+    }
+
+    @PostMapping("/series")
+    public ResponseEntity<List<TimeBucketData>> getBucketSeries(@Valid @RequestBody AnalyticsRequestDto request) {
+        return ResponseEntity.ok(analyticsService.getBucketSeries(request));
+    }
+
+    @PostMapping("/compare")
+    public ResponseEntity<List<RangeComparison>> compareRanges(@Valid @RequestBody AnalyticsCompareRequestDto request) {
+        return ResponseEntity.ok(analyticsService.compareRanges(request));
+    }
+
+    @PostMapping("/heatmap")
+    public ResponseEntity<ScanHeatMap> getHeatMap(@Valid @RequestBody AnalyticsRequestDto request) {
+        return ResponseEntity.ok(analyticsService.getHeatMap(request));
+    }
+
+    @PostMapping("/visitors")
+    public ResponseEntity<VisitorStats> getVisitorStats(@Valid @RequestBody AnalyticsRequestDto request) {
+        return ResponseEntity.ok(analyticsService.getVisitorStats(request));
+    }
+
+    @PostMapping("/sources")
+    public ResponseEntity<List<SourceScanStats>> getSourceStats(@Valid @RequestBody AnalyticsRequestDto request) {
+        return ResponseEntity.ok(analyticsService.getSourceStats(request));
+    }
+
+    // Only registered codes are attributed; scans with any other ?source= count without one
+    @GetMapping("/sources/codes")
+    public ResponseEntity<List<String>> getSourceCodes() {
+        return ResponseEntity.ok(analyticsService.getSourceCodes());
+    }
+
+    @PostMapping("/sources/codes")
+    public ResponseEntity<Void> registerSourceCode(@Valid @RequestBody QRSourceRequestDto request) {
+        analyticsService.registerSourceCode(request.getCode());
+        return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+
+    @GetMapping(value = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamLiveScans() {
+        SseEmitter emitter = liveScanBroadcaster.subscribe();
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportScans(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        DateRange range = analyticsService.getExportRange(startDate, endDate);
+        if (!scanCsvExporter.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+        String fileName = "qr_scans_" + startDate + "_" + endDate + (gzip ? ".csv.gz" : ".csv");
+        StreamingResponseBody body = outputStream -> {
+            try {
+                scanCsvExporter.export(range, outputStream, gzip);
+            } finally {
+                scanCsvExporter.release();
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + fileName)
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType("text/csv"))
+                .body(body);
+    }
 }
@@ -0,0 +1,34 @@
+package com.nextbeer.website.controller;
+
+import com.nextbeer.website.model.CatalogSnapshot;
+import com.nextbeer.website.service.CatalogService;
+import com.nextbeer.website.util.AcceptEncoding;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/catalog")
+public class CatalogController {
+
+    private final CatalogService catalogService;
+
+    // Whole active menu tree in one response, written straight from the pre-serialised snapshot
+    @GetMapping
+    public ResponseEntity<byte[]> getCatalog(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CatalogSnapshot snapshot = catalogService.getCatalogSnapshot();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (AcceptEncoding.acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzippedJson());
+        }
+        return response.body(snapshot.json());
+    }
+}
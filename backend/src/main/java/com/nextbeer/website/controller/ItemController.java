@@ -2,8 +2,10 @@ package com.nextbeer.website.controller;
 
 import com.nextbeer.website.dto.request.ItemOrderRequestDto;
 import com.nextbeer.website.dto.request.ItemRequestDto;
+import com.nextbeer.website.dto.response.CursorPageResponse;
 import com.nextbeer.website.dto.response.ItemResponseDto;
 import com.nextbeer.website.dto.response.PageResponse;
+import com.nextbeer.website.dto.response.PopularItemResponse;
 import com.nextbeer.website.service.ItemService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +26,23 @@ public class ItemController {
 
     private final ItemService itemService;
 
+    @GetMapping("/popular")
+    public ResponseEntity<List<PopularItemResponse>> getPopularItems(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(itemService.getPopularItems(Math.max(limit, 0)));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<ItemResponseDto>> searchItems(@RequestParam("q") String query,
+                                                             @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(itemService.searchItems(query, limit));
+    }
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<String>> autocompleteItems(@RequestParam("q") String query,
+                                                          @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(itemService.autocompleteItems(query, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ItemResponseDto> getItemDetailById(@PathVariable Long id) {
         return ResponseEntity.ok(itemService.getItemDetailById(id));
@@ -69,6 +88,15 @@ public class ItemController {
         );
         return ResponseEntity.ok(pageResponse);
     }
+
+    // Infinite scroll for customers: seeks past the cursor instead of counting and offsetting
+    @GetMapping("/category/{categoryId}/cursor")
+    public ResponseEntity<CursorPageResponse<ItemResponseDto>> getItemsByCategoryIdAfter(@PathVariable Long categoryId,
+                                                                                   @RequestParam(required = false) String cursor,
+                                                                                   @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(itemService.getItemsByCategoryIdAfter(categoryId, cursor, size));
+    }
+
     @PostMapping("/update-order")
     @PreAuthorize("hasAnyRole('ADMIN')")
     public ResponseEntity<Void> updateItemOrder(@RequestBody List<ItemOrderRequestDto> updates) {
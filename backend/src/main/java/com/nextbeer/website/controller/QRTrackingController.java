@@ -1,10 +1,15 @@
 package com.nextbeer.website.controller;
 
+import com.nextbeer.website.enums.ScanIngestionResult;
 import com.nextbeer.website.service.QRAnalyticsService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -14,8 +19,15 @@ public class QRTrackingController {
     private final QRAnalyticsService analyticsService;
 
     @PostMapping("/qr-track")
-    public ResponseEntity<Void> trackQRScan() {
-        analyticsService.logScan();
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Void> trackQRScan(HttpServletRequest request,
+                                            @RequestParam(required = false) String source) {
+        ScanIngestionResult result = analyticsService.logScan(request.getRemoteAddr(), request.getHeader(HttpHeaders.USER_AGENT), source);
+        return switch (result) {
+            case WRITTEN -> ResponseEntity.ok().build();
+            case QUEUED -> ResponseEntity.accepted().build();
+            case REJECTED -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        };
     }
 }
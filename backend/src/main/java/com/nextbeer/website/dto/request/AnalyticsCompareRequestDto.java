@@ -0,0 +1,18 @@
+package com.nextbeer.website.dto.request;
+
+import com.nextbeer.website.enums.TimeGranularity;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class AnalyticsCompareRequestDto {
+    @NotEmpty(message = "At least one range is required")
+    @Size(max = 12, message = "At most 12 ranges can be compared at once")
+    private List<@Valid AnalyticsRequestDto> ranges;
+
+    private TimeGranularity granularity;
+}
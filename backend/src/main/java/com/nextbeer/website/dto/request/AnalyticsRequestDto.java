@@ -1,6 +1,8 @@
 package com.nextbeer.website.dto.request;
 
 import com.nextbeer.website.enums.DateRangeType;
+import com.nextbeer.website.enums.TimeGranularity;
+import jakarta.validation.constraints.Min;
 import lombok.Data;
 
 import java.time.LocalDate;
@@ -12,4 +14,10 @@ public class AnalyticsRequestDto {
     private LocalDate startDate;
 
     private LocalDate endDate;
+
+    private TimeGranularity granularity;
+
+    // Charts longer than this are downsampled with LTTB; null returns every bucket
+    @Min(value = 3, message = "maxPoints must be at least 3")
+    private Integer maxPoints;
 }
@@ -0,0 +1,13 @@
+package com.nextbeer.website.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+@Data
+public class QRSourceRequestDto {
+    // Printed as ?source= on the QR code, e.g. table-12 or flyer
+    @NotNull(message = "code is required")
+    @Pattern(regexp = "[A-Za-z0-9_-]{1,64}", message = "code must be 1-64 letters, digits, '-' or '_'")
+    private String code;
+}
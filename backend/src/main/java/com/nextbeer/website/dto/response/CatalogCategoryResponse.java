@@ -0,0 +1,20 @@
+package com.nextbeer.website.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogCategoryResponse {
+    private Long categoryId;
+
+    private String name;
+
+    private List<ItemResponseDto> items;
+}
@@ -0,0 +1,22 @@
+package com.nextbeer.website.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogMenuResponse {
+    private Long menuId;
+
+    private String name;
+
+    private String imageUrl;
+
+    private List<CatalogCategoryResponse> categories;
+}
@@ -0,0 +1,16 @@
+package com.nextbeer.website.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogResponse {
+    private List<CatalogMenuResponse> menus;
+}
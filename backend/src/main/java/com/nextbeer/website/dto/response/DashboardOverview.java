@@ -0,0 +1,24 @@
+package com.nextbeer.website.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardOverview {
+    private DashboardStats stats;
+
+    private Long previousPeriodScans;
+
+    private Double changePercent;
+
+    private List<DailyChartData> dailyChart;
+
+    private List<HourlyChartData> hourlyToday;
+}
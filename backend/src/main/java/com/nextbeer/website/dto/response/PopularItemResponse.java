@@ -0,0 +1,25 @@
+package com.nextbeer.website.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PopularItemResponse {
+    private Long itemId;
+
+    private String name;
+
+    private String imageUrl;
+
+    private BigDecimal price;
+
+    // Views over the tracking window the item is certain to have had; the true number may be higher
+    private Long views;
+}
@@ -0,0 +1,26 @@
+package com.nextbeer.website.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RangeComparison {
+    private String rangeType;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private Long totalScans;
+
+    // Bucket i of every range in the same comparison sits at the same offset from its range start
+    private List<TimeBucketData> series;
+}
@@ -0,0 +1,23 @@
+package com.nextbeer.website.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScanHeatMap {
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    // [weekday][hour] with Monday = 0; averages divide by how often that weekday occurs in the range
+    private double[][] averageScans;
+
+    private long[][] totalScans;
+}
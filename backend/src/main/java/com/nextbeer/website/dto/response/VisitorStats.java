@@ -0,0 +1,23 @@
+package com.nextbeer.website.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VisitorStats {
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private String rangeType;
+
+    // HyperLogLog estimate, within about 2% of the exact count
+    private Long uniqueVisitors;
+}
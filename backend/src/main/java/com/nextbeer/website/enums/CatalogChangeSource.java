@@ -0,0 +1,12 @@
+package com.nextbeer.website.enums;
+
+public enum CatalogChangeSource {
+    MENU,
+    CATEGORY,
+    // A single item was created, edited or removed
+    ITEM,
+    // Display order of several items changed, nothing else
+    ITEM_ORDER,
+    ITEM_TAG,
+    RESTAURANT
+}
@@ -0,0 +1,6 @@
+package com.nextbeer.website.enums;
+
+public enum ScanIngestionMode {
+    DIRECT,
+    BUFFERED
+}
@@ -0,0 +1,10 @@
+package com.nextbeer.website.enums;
+
+public enum ScanIngestionResult {
+    // Saved on the request thread
+    WRITTEN,
+    // Queued for the background flusher (also used for suppressed duplicates in BUFFERED mode)
+    QUEUED,
+    // Not recorded because the database and the ingestion queue are both saturated
+    REJECTED
+}
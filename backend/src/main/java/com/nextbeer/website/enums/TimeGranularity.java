@@ -0,0 +1,41 @@
+package com.nextbeer.website.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum TimeGranularity {
+    MINUTE,
+    QUARTER_HOUR,
+    HOUR,
+    DAY,
+    ISO_WEEK,
+    MONTH;
+
+    public LocalDateTime floor(LocalDateTime time) {
+        return switch (this) {
+            case MINUTE -> time.truncatedTo(ChronoUnit.MINUTES);
+            case QUARTER_HOUR -> time.truncatedTo(ChronoUnit.HOURS).plusMinutes(time.getMinute() / 15 * 15L);
+            case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> time.truncatedTo(ChronoUnit.DAYS);
+            case ISO_WEEK -> time.truncatedTo(ChronoUnit.DAYS).with(DayOfWeek.MONDAY);
+            case MONTH -> time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        };
+    }
+
+    public LocalDateTime next(LocalDateTime bucketStart) {
+        return switch (this) {
+            case MINUTE -> bucketStart.plusMinutes(1);
+            case QUARTER_HOUR -> bucketStart.plusMinutes(15);
+            case HOUR -> bucketStart.plusHours(1);
+            case DAY -> bucketStart.plusDays(1);
+            case ISO_WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+        };
+    }
+
+    // The hourly rollup can answer anything at hour resolution or coarser
+    public boolean isSubHourly() {
+        return this == MINUTE || this == QUARTER_HOUR;
+    }
+}
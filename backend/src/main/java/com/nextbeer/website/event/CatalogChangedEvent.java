@@ -0,0 +1,11 @@
+package com.nextbeer.website.event;
+
+import com.nextbeer.website.enums.CatalogChangeSource;
+
+// Published by admin writes to the catalog or restaurant; entityId, when set, is the single item or tag that changed
+public record CatalogChangedEvent(CatalogChangeSource source, Long entityId) {
+
+    public CatalogChangedEvent(CatalogChangeSource source) {
+        this(source, null);
+    }
+}
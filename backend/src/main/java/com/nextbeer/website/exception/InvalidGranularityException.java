@@ -0,0 +1,7 @@
+package com.nextbeer.website.exception;
+
+public class InvalidGranularityException extends RuntimeException{
+    public InvalidGranularityException(String message) {
+        super(message);
+    }
+}
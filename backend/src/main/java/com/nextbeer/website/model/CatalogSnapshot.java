@@ -0,0 +1,5 @@
+package com.nextbeer.website.model;
+
+// The serialised catalog, kept both plain and gzip-compressed so requests only copy bytes
+public record CatalogSnapshot(byte[] json, byte[] gzippedJson) {
+}
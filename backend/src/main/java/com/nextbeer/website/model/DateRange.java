@@ -0,0 +1,23 @@
+package com.nextbeer.website.model;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Half-open [startDate, endDate) so every query can use a plain range predicate
+public record DateRange(LocalDateTime startDate, LocalDateTime endDate) {
+
+    // Last calendar day that falls inside the range
+    public LocalDate lastDay() {
+        return endDate.minusNanos(1).toLocalDate();
+    }
+
+    public boolean contains(LocalDateTime time) {
+        return !time.isBefore(startDate) && time.isBefore(endDate);
+    }
+
+    // A closed range ended at least settleTime ago, so no scan still in flight can fall into it
+    public boolean isClosed(LocalDateTime now, Duration settleTime) {
+        return !endDate.plus(settleTime).isAfter(now);
+    }
+}
@@ -0,0 +1,21 @@
+package com.nextbeer.website.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@Entity
+@Table(name = "qr_scan_daily")
+public class QRScanDaily {
+    @Id
+    @Column(name = "scan_day")
+    private LocalDate scanDay;
+
+    @Column(name = "scan_count", nullable = false)
+    private Long scanCount;
+}
@@ -0,0 +1,21 @@
+package com.nextbeer.website.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "qr_scan_hourly")
+public class QRScanHourly {
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    @Column(name = "scan_count", nullable = false)
+    private Long scanCount;
+}
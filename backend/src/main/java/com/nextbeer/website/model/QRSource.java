@@ -0,0 +1,23 @@
+package com.nextbeer.website.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "qr_sources")
+public class QRSource {
+    @Id
+    private Integer id;
+
+    @Column(name = "code", nullable = false, unique = true, length = 64)
+    private String code;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
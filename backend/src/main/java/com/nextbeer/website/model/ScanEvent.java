@@ -0,0 +1,11 @@
+package com.nextbeer.website.model;
+
+import java.time.LocalDateTime;
+
+// visitorHash is a keyed hash of the client, 0 when the scan has no known visitor; sourceId is null for scans without a source code
+public record ScanEvent(LocalDateTime scanTime, long visitorHash, Integer sourceId) {
+
+    public ScanEvent(LocalDateTime scanTime) {
+        this(scanTime, 0L, null);
+    }
+}
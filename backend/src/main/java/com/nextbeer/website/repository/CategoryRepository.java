@@ -18,4 +18,7 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     @Query("SELECT new com.nextbeer.website.dto.response.CategorySimpleResponse(c.categoryId, c.name) FROM Category c WHERE c.menu.menuId = :menuId AND c.isActive = true")
     List<CategorySimpleResponse> findCategoriesByMenuIdAndIsActiveTrue(@Param("menuId") Long menuId);
+
+    @Query("SELECT c FROM Category c JOIN FETCH c.menu m WHERE c.isActive = true AND m.isActive = true ORDER BY c.categoryId")
+    List<Category> findAllActiveInActiveMenus();
 }
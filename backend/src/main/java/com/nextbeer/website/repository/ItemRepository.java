@@ -1,6 +1,7 @@
 package com.nextbeer.website.repository;
 
 import com.nextbeer.website.model.Item;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,7 +12,24 @@ import java.util.List;
 import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    Page<Item> findAllByCategory_CategoryIdAndIsActiveTrue(Long categoryId, Pageable pageable);
+    @Query(value = "SELECT i.itemId FROM Item i WHERE i.category.categoryId = :categoryId AND i.isActive = true",
+            countQuery = "SELECT COUNT(i) FROM Item i WHERE i.category.categoryId = :categoryId AND i.isActive = true")
+    Page<Long> findActiveItemIdsByCategory(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query("SELECT i.itemId FROM Item i WHERE i.category.categoryId = :categoryId AND i.isActive = true " +
+            "AND (i.displayOrder > :displayOrder OR (i.displayOrder = :displayOrder AND i.itemId > :itemId)) " +
+            "ORDER BY i.displayOrder, i.itemId")
+    List<Long> findActiveItemIdsByCategoryAfter(@Param("categoryId") Long categoryId,
+                                                @Param("displayOrder") int displayOrder,
+                                                @Param("itemId") long itemId,
+                                                Limit limit);
+
+    // Tags and variants are both bags, so they are fetched by separate queries into the same persistence context
+    @Query("SELECT DISTINCT i FROM Item i JOIN FETCH i.category c JOIN FETCH c.menu LEFT JOIN FETCH i.tags WHERE i.itemId IN :ids")
+    List<Item> findAllWithTagsByItemIdIn(@Param("ids") List<Long> ids);
+
+    @Query("SELECT DISTINCT i FROM Item i LEFT JOIN FETCH i.variants WHERE i.itemId IN :ids")
+    List<Item> findAllWithVariantsByItemIdIn(@Param("ids") List<Long> ids);
 
     Optional<Item> findByItemIdAndIsActiveIsTrue(Long id);
     boolean existsByItemIdAndIsActiveIsTrue(Long itemId);
@@ -20,4 +38,17 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
 
     @Query("SELECT MAX(i.displayOrder) FROM Item i WHERE i.category.categoryId = :categoryId")
     Integer findMaxDisplayOrderByCategory(@Param("categoryId") Long categoryId);
+
+    @Query("SELECT i FROM Item i JOIN FETCH i.category c JOIN FETCH c.menu m " +
+            "WHERE i.isActive = true AND c.isActive = true AND m.isActive = true ORDER BY i.displayOrder, i.itemId")
+    List<Item> findAllActiveInActiveCategories();
+
+    @Query("SELECT i.itemId FROM Item i JOIN i.tags t WHERE t.id = :tagId")
+    List<Long> findItemIdsByTagId(@Param("tagId") Long tagId);
+
+    @Query("SELECT i.itemId, t.id, t.name FROM Item i JOIN i.tags t WHERE i.isActive = true ORDER BY t.id")
+    List<Object[]> findTagsOfActiveItems();
+
+    @Query("SELECT v.item.itemId, v.id, v.name, v.price FROM ItemVariant v WHERE v.item.isActive = true ORDER BY v.id")
+    List<Object[]> findVariantsOfActiveItems();
 }
@@ -0,0 +1,39 @@
+package com.nextbeer.website.repository;
+
+import com.nextbeer.website.model.QRScanHourly;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface QRScanHourlyRepository extends JpaRepository<QRScanHourly, LocalDateTime> {
+    @Query("SELECT COALESCE(SUM(h.scanCount), 0) FROM QRScanHourly h WHERE h.bucketStart >= :start AND h.bucketStart < :end")
+    Long sumScansBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT DATE(h.bucketStart), SUM(h.scanCount) FROM QRScanHourly h WHERE h.bucketStart >= :start AND h.bucketStart < :end GROUP BY DATE(h.bucketStart) ORDER BY DATE(h.bucketStart)")
+    List<Object[]> getDailyScans(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT HOUR(h.bucketStart), SUM(h.scanCount) FROM QRScanHourly h WHERE h.bucketStart >= :start AND h.bucketStart < :end GROUP BY HOUR(h.bucketStart) ORDER BY HOUR(h.bucketStart)")
+    List<Object[]> getHourlyScans(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT h.bucketStart, h.scanCount FROM QRScanHourly h WHERE h.bucketStart >= :start AND h.bucketStart < :end ORDER BY h.bucketStart")
+    List<Object[]> getBuckets(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT h.bucketStart, h.scanCount FROM QRScanHourly h " +
+            "WHERE (h.bucketStart >= :start AND h.bucketStart < :end) " +
+            "OR (h.bucketStart >= :extraStart AND h.bucketStart < :extraEnd)")
+    List<Object[]> getBucketsInRanges(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                                      @Param("extraStart") LocalDateTime extraStart, @Param("extraEnd") LocalDateTime extraEnd);
+
+    @Query(value = "SELECT DATE_SUB(DATE(bucket_start), INTERVAL WEEKDAY(bucket_start) DAY) AS week_start, SUM(scan_count) " +
+            "FROM qr_scan_hourly WHERE bucket_start >= :start AND bucket_start < :end GROUP BY week_start ORDER BY week_start",
+            nativeQuery = true)
+    List<Object[]> getWeeklyScans(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query(value = "SELECT DATE_SUB(DATE(bucket_start), INTERVAL DAYOFMONTH(bucket_start) - 1 DAY) AS month_start, SUM(scan_count) " +
+            "FROM qr_scan_hourly WHERE bucket_start >= :start AND bucket_start < :end GROUP BY month_start ORDER BY month_start",
+            nativeQuery = true)
+    List<Object[]> getMonthlyScans(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+}
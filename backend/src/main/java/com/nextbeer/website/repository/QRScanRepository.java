@@ -8,13 +8,14 @@ import org.springframework.data.repository.query.Param;
 import java.time.LocalDateTime;
 import java.util.List;
 
+// Raw scan queries take a half-open [start, end) range on the bare scan_time column so they can
+// range-scan idx_qr_scans_scan_time; the SQL is kept in constants so the index-usage test can EXPLAIN it.
+// They cover raw scans alone, so only the months retention has not dropped yet. Counts and daily totals
+// are read from qr_scan_hourly, which keeps every hour.
 public interface QRScanRepository extends JpaRepository<QRScan, Long> {
-    @Query("SELECT COUNT(q) FROM QRScan q WHERE q.scanTime BETWEEN :start AND :end")
-    Long countScansBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+    String MINUTE_SCANS = "SELECT DATE_FORMAT(scan_time, '%Y-%m-%d %H:%i:00') AS scan_minute, COUNT(*) FROM qr_scans " +
+            "WHERE scan_time >= :start AND scan_time < :end GROUP BY scan_minute ORDER BY scan_minute";
 
-    @Query("SELECT DATE(q.scanTime), COUNT(q) FROM QRScan q WHERE q.scanTime BETWEEN :start AND :end GROUP BY DATE(q.scanTime) ORDER BY DATE(q.scanTime)")
-    List<Object[]> getDailyScans(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
-
-    @Query("SELECT HOUR(q.scanTime), COUNT(q) FROM QRScan q WHERE q.scanTime BETWEEN :start AND :end GROUP BY HOUR(q.scanTime) ORDER BY HOUR(q.scanTime)")
-    List<Object[]> getHourlyScans(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+    @Query(value = MINUTE_SCANS, nativeQuery = true)
+    List<Object[]> getMinuteScans(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 }
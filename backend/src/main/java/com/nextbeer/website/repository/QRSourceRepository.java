@@ -0,0 +1,19 @@
+package com.nextbeer.website.repository;
+
+import com.nextbeer.website.model.QRSource;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface QRSourceRepository extends JpaRepository<QRSource, Integer> {
+    // Groups the integer-keyed rollup first and only joins the few resulting ids to their codes
+    @Query(value = "SELECT s.code, t.scans FROM (" +
+            "SELECT source_id, SUM(scan_count) AS scans FROM qr_scan_hourly_source " +
+            "WHERE bucket_start >= :start AND bucket_start < :end GROUP BY source_id" +
+            ") t JOIN qr_sources s ON s.id = t.source_id ORDER BY t.scans DESC",
+            nativeQuery = true)
+    List<Object[]> getScansBySource(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+}
@@ -0,0 +1,7 @@
+package com.nextbeer.website.service;
+
+import com.nextbeer.website.model.CatalogSnapshot;
+
+public interface CatalogService {
+    CatalogSnapshot getCatalogSnapshot();
+}
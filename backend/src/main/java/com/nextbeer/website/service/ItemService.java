@@ -2,7 +2,9 @@ package com.nextbeer.website.service;
 
 import com.nextbeer.website.dto.request.ItemOrderRequestDto;
 import com.nextbeer.website.dto.request.ItemRequestDto;
+import com.nextbeer.website.dto.response.CursorPageResponse;
 import com.nextbeer.website.dto.response.ItemResponseDto;
+import com.nextbeer.website.dto.response.PopularItemResponse;
 import com.nextbeer.website.model.Item;
 import org.springframework.data.domain.Page;
 
@@ -19,6 +21,14 @@ public interface ItemService {
 
     Page<ItemResponseDto> getAllItemsByCategoryId(Long categoryId, int page, int size);
 
+    CursorPageResponse<ItemResponseDto> getItemsByCategoryIdAfter(Long categoryId, String cursor, int size);
+
+    List<ItemResponseDto> searchItems(String query, int limit);
+
+    List<String> autocompleteItems(String query, int limit);
+
     Item getItemById(Long id);
     void updateItemOrder(List<ItemOrderRequestDto> updates);
+
+    List<PopularItemResponse> getPopularItems(int limit);
 }
@@ -1,16 +1,38 @@
 package com.nextbeer.website.service;
 
+import com.nextbeer.website.dto.request.AnalyticsCompareRequestDto;
 import com.nextbeer.website.dto.request.AnalyticsRequestDto;
 import com.nextbeer.website.dto.response.DailyChartData;
+import com.nextbeer.website.dto.response.DashboardOverview;
 import com.nextbeer.website.dto.response.DashboardStats;
 import com.nextbeer.website.dto.response.HourlyChartData;
+import com.nextbeer.website.dto.response.RangeComparison;
+import com.nextbeer.website.dto.response.ScanHeatMap;
+import com.nextbeer.website.dto.response.SourceScanStats;
+import com.nextbeer.website.dto.response.TimeBucketData;
+import com.nextbeer.website.dto.response.VisitorStats;
+import com.nextbeer.website.enums.ScanIngestionResult;
+import com.nextbeer.website.model.DateRange;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface QRAnalyticsService {
-    void logScan();
+    ScanIngestionResult logScan(String clientAddress, String userAgent, String sourceCode);
+    ScanIngestionResult queueScan(String clientAddress, String userAgent, String sourceCode);
     List<DailyChartData> getChartData(AnalyticsRequestDto request);
     DashboardStats getDashboardStats(AnalyticsRequestDto request);
     List<HourlyChartData> getTodayHourlyChart();
+    DashboardOverview getDashboardOverview(AnalyticsRequestDto request);
+    List<TimeBucketData> getBucketSeries(AnalyticsRequestDto request);
+    List<RangeComparison> compareRanges(AnalyticsCompareRequestDto request);
+    ScanHeatMap getHeatMap(AnalyticsRequestDto request);
+    VisitorStats getVisitorStats(AnalyticsRequestDto request);
+    List<SourceScanStats> getSourceStats(AnalyticsRequestDto request);
+    DateRange getExportRange(LocalDate startDate, LocalDate endDate);
+
+    List<String> getSourceCodes();
+
+    void registerSourceCode(String code);
 
 }
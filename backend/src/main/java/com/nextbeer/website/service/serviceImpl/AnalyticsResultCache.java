@@ -0,0 +1,58 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nextbeer.website.model.DateRange;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * Caches analytics results by resolved {@link DateRange}. Ranges that are already over can
+ * never change and stay cached until evicted by size; ranges that are still open (current
+ * week/month, today) expire after a short TTL. A range only counts as over once scans taken
+ * before its end can no longer be waiting in the ingestion buffer or held back by admission
+ * control.
+ */
+@Component
+public class AnalyticsResultCache {
+
+    private final Cache<CacheKey, Object> closedRanges;
+    private final Cache<CacheKey, Object> openRanges;
+    private final Duration settleTime;
+
+    public AnalyticsResultCache(MeterRegistry meterRegistry,
+                                @Value("${app.analytics.cache.closed-max-entries:1000}") long closedMaxEntries,
+                                @Value("${app.analytics.cache.open-ttl-seconds:30}") long openTtlSeconds,
+                                @Value("${app.analytics.ingestion.flush-interval-ms:1000}") long flushIntervalMs,
+                                @Value("${app.analytics.admission.max-flush-delay-ms:5000}") long maxFlushDelayMs,
+                                @Value("${app.analytics.cache.settle-margin-seconds:60}") long settleMarginSeconds) {
+        this.settleTime = Duration.ofMillis(flushIntervalMs + maxFlushDelayMs).plusSeconds(settleMarginSeconds);
+        this.closedRanges = Caffeine.newBuilder()
+                .maximumSize(closedMaxEntries)
+                .recordStats()
+                .build();
+        this.openRanges = Caffeine.newBuilder()
+                .maximumSize(100)
+                .expireAfterWrite(Duration.ofSeconds(openTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, closedRanges, "analytics.closed");
+        CaffeineCacheMetrics.monitor(meterRegistry, openRanges, "analytics.open");
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String kind, DateRange range, Supplier<T> loader) {
+        CacheKey cacheKey = new CacheKey(kind, range.startDate(), range.endDate());
+        Cache<CacheKey, Object> cache = range.isClosed(LocalDateTime.now(), settleTime) ? closedRanges : openRanges;
+        return (T) cache.get(cacheKey, key -> loader.get());
+    }
+
+    private record CacheKey(String kind, LocalDateTime start, LocalDateTime end) {
+    }
+}
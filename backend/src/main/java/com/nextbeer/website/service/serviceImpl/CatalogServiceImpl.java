@@ -0,0 +1,83 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nextbeer.website.event.CatalogChangedEvent;
+import com.nextbeer.website.model.CatalogSnapshot;
+import com.nextbeer.website.service.CatalogService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class CatalogServiceImpl implements CatalogService {
+
+    private final CatalogSnapshotBuilder snapshotBuilder;
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>();
+
+    @Override
+    public CatalogSnapshot getCatalogSnapshot() {
+        CatalogSnapshot current = snapshot.get();
+        return current != null ? current : rebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildInitialSnapshot() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // The first request builds it instead
+            log.warn("Could not build the catalog snapshot at startup: {}", e.getMessage());
+        }
+    }
+
+    // Rebuilt only once the admin write is committed, so the snapshot never shows rolled-back changes
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        log.info("Catalog changed ({}), rebuilding snapshot", event.source());
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // Thrown from here it would also skip the catalog version bump that follows
+            log.error("Could not rebuild the catalog snapshot", e);
+        }
+    }
+
+    // Serialised so that a slower, older rebuild can never replace a newer snapshot
+    private synchronized CatalogSnapshot rebuild() {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(snapshotBuilder.build());
+            CatalogSnapshot rebuilt = new CatalogSnapshot(json, gzip(json));
+            snapshot.set(rebuilt);
+            return rebuilt;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise the catalog snapshot", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,97 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.nextbeer.website.dto.response.CatalogCategoryResponse;
+import com.nextbeer.website.dto.response.CatalogMenuResponse;
+import com.nextbeer.website.dto.response.CatalogResponse;
+import com.nextbeer.website.dto.response.ItemResponseDto;
+import com.nextbeer.website.dto.response.ItemTagResponse;
+import com.nextbeer.website.dto.response.ItemVariantResponse;
+import com.nextbeer.website.mapper.ItemMapper;
+import com.nextbeer.website.model.Category;
+import com.nextbeer.website.model.Item;
+import com.nextbeer.website.model.Menu;
+import com.nextbeer.website.repository.CategoryRepository;
+import com.nextbeer.website.repository.ItemRepository;
+import com.nextbeer.website.repository.MenuRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the whole active catalog with five set-based queries (menus, categories, items, item
+ * tags, item variants) and stitches the tree together in memory, instead of one query per
+ * menu, category and item.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogSnapshotBuilder {
+
+    private final MenuRepository menuRepository;
+    private final CategoryRepository categoryRepository;
+    private final ItemRepository itemRepository;
+    private final ItemMapper itemMapper;
+
+    // The given items as the catalog shows them, leaving out any that are inactive or in an inactive category or menu
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public List<ItemResponseDto> buildVisibleItems(List<Long> itemIds) {
+        List<Item> items = itemRepository.findAllWithTagsByItemIdIn(itemIds).stream()
+                .filter(item -> item.isActive() && item.getCategory().isActive() && item.getCategory().getMenu().isActive())
+                .toList();
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        itemRepository.findAllWithVariantsByItemIdIn(items.stream().map(Item::getItemId).toList());
+        return items.stream().map(itemMapper::toResponse).toList();
+    }
+
+    // A new transaction, because rebuilds run after the admin write's own transaction has committed
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public CatalogResponse build() {
+        Map<Long, List<ItemTagResponse>> tagsByItem = new HashMap<>();
+        for (Object[] row : itemRepository.findTagsOfActiveItems()) {
+            tagsByItem.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                    .add(new ItemTagResponse((Long) row[1], (String) row[2]));
+        }
+        Map<Long, List<ItemVariantResponse>> variantsByItem = new HashMap<>();
+        for (Object[] row : itemRepository.findVariantsOfActiveItems()) {
+            variantsByItem.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                    .add(new ItemVariantResponse((Long) row[1], (String) row[2], (BigDecimal) row[3]));
+        }
+
+        Map<Long, List<ItemResponseDto>> itemsByCategory = new HashMap<>();
+        for (Item item : itemRepository.findAllActiveInActiveCategories()) {
+            itemsByCategory.computeIfAbsent(item.getCategory().getCategoryId(), id -> new ArrayList<>())
+                    .add(ItemResponseDto.builder()
+                            .itemId(item.getItemId())
+                            .name(item.getName())
+                            .description(item.getDescription())
+                            .price(item.getPrice())
+                            .imageUrl(item.getImageUrl())
+                            .displayOrder(item.getDisplayOrder())
+                            .itemTagResponses(tagsByItem.getOrDefault(item.getItemId(), List.of()))
+                            .itemVariantResponses(variantsByItem.getOrDefault(item.getItemId(), List.of()))
+                            .build());
+        }
+
+        Map<Long, List<CatalogCategoryResponse>> categoriesByMenu = new HashMap<>();
+        for (Category category : categoryRepository.findAllActiveInActiveMenus()) {
+            categoriesByMenu.computeIfAbsent(category.getMenu().getMenuId(), id -> new ArrayList<>())
+                    .add(new CatalogCategoryResponse(category.getCategoryId(), category.getName(),
+                            itemsByCategory.getOrDefault(category.getCategoryId(), List.of())));
+        }
+
+        List<CatalogMenuResponse> menus = new ArrayList<>();
+        for (Menu menu : menuRepository.findByIsActiveIsTrue()) {
+            menus.add(new CatalogMenuResponse(menu.getMenuId(), menu.getName(), menu.getImageUrl(),
+                    categoriesByMenu.getOrDefault(menu.getMenuId(), List.of())));
+        }
+        return new CatalogResponse(menus);
+    }
+}
@@ -0,0 +1,32 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.nextbeer.website.event.CatalogChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of everything the public catalog endpoints serve. It moves forward once per committed
+ * admin write and is the source of their ETags; starting from the boot time keeps ETags handed
+ * out before a restart from matching afterwards.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    public String etag() {
+        return "\"" + Long.toString(version.get(), 36) + "\"";
+    }
+
+    // Runs after the catalog snapshot rebuild, so a new ETag is never paired with the old snapshot
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        version.incrementAndGet();
+    }
+}
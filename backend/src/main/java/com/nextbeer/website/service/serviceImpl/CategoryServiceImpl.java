@@ -4,6 +4,8 @@ import com.nextbeer.website.dto.request.CategoryRequestDto;
 import com.nextbeer.website.dto.response.CategoryResponse;
 import com.nextbeer.website.dto.response.CategorySimpleResponse;
 import com.nextbeer.website.dto.response.MenuResponse;
+import com.nextbeer.website.enums.CatalogChangeSource;
+import com.nextbeer.website.event.CatalogChangedEvent;
 import com.nextbeer.website.exception.CategoryNotFoundException;
 import com.nextbeer.website.exception.MenuNotFoundException;
 import com.nextbeer.website.mapper.CategoryMapper;
@@ -14,6 +16,7 @@ import com.nextbeer.website.service.CategoryService;
 import com.nextbeer.website.service.MenuService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
@@ -29,6 +32,7 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
     private final MenuService menuService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -44,6 +48,7 @@ public class CategoryServiceImpl implements CategoryService {
         Category category = categoryMapper.toEntity(requestDto,menu);
         Category savedCategory = categoryRepository.save(category);
         log.info("new category successfully added to db with name : " + savedCategory.getName());
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangeSource.CATEGORY));
         return categoryMapper.toResponse(savedCategory);
     }
 
@@ -55,6 +60,7 @@ public class CategoryServiceImpl implements CategoryService {
         category = categoryMapper.toEntity(category, requestDto, menu);
         Category updatedCategory = categoryRepository.save(category);
         log.info("category successfully updated with name : " + updatedCategory.getName());
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangeSource.CATEGORY));
         return categoryMapper.toResponse(updatedCategory);
     }
 
@@ -65,6 +71,7 @@ public class CategoryServiceImpl implements CategoryService {
         category.setActive(false);
         categoryRepository.save(category);
         log.info("category successfully removed from db with name : " + category.getName());
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangeSource.CATEGORY));
     }
 
     @Override
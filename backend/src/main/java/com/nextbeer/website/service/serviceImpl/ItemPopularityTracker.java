@@ -0,0 +1,151 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.nextbeer.website.dto.response.PopularItemResponse;
+import com.nextbeer.website.model.Item;
+import com.nextbeer.website.repository.ItemRepository;
+import com.nextbeer.website.util.SpaceSaving;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Counts item-detail views in one Space-Saving sketch per hour instead of writing a row per view.
+ * A scheduled refresh merges the retained hours into the current top list, which the popular
+ * items endpoint returns as is, and snapshots the changed hours to item_view_snapshots so a
+ * restart keeps the ranking.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemPopularityTracker {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final TreeMap<LocalDateTime, SpaceSaving> windows = new TreeMap<>();
+    private final Set<LocalDateTime> dirtyWindows = new HashSet<>();
+    private volatile List<PopularItemResponse> popularItems = List.of();
+
+    @Value("${app.popular-items.capacity:64}")
+    private int capacity;
+
+    @Value("${app.popular-items.window-hours:24}")
+    private int windowHours;
+
+    public void recordView(Long itemId) {
+        LocalDateTime hour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        synchronized (this) {
+            windows.computeIfAbsent(hour, h -> new SpaceSaving(capacity)).offer(itemId, 1);
+            dirtyWindows.add(hour);
+        }
+    }
+
+    public List<PopularItemResponse> getPopularItems(int limit) {
+        List<PopularItemResponse> items = popularItems;
+        return items.size() <= limit ? items : items.subList(0, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDateTime cutoff = retentionCutoff();
+        Map<LocalDateTime, SpaceSaving> restored = new TreeMap<>();
+        jdbcTemplate.query("SELECT window_start, item_id, view_count, error_count FROM item_view_snapshots WHERE window_start >= ?",
+                rs -> {
+                    restored.computeIfAbsent(rs.getTimestamp(1).toLocalDateTime(), h -> new SpaceSaving(capacity))
+                            .restore(new SpaceSaving.Entry(rs.getLong(2), rs.getLong(3), rs.getLong(4)));
+                },
+                Timestamp.valueOf(cutoff));
+        synchronized (this) {
+            // Views recorded while loading stay on top of the restored counts
+            restored.forEach((hour, sketch) -> windows.merge(hour, sketch, (current, snapshot) -> {
+                snapshot.merge(current);
+                return snapshot;
+            }));
+        }
+        log.info("Restored item view sketches for {} hours", restored.size());
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.popular-items.refresh-interval-ms:60000}",
+            initialDelayString = "${app.popular-items.refresh-interval-ms:60000}")
+    public void refresh() {
+        LocalDateTime cutoff = retentionCutoff();
+        SpaceSaving merged = new SpaceSaving(capacity);
+        Map<LocalDateTime, List<SpaceSaving.Entry>> changed = new TreeMap<>();
+        synchronized (this) {
+            windows.headMap(cutoff).clear();
+            dirtyWindows.removeIf(hour -> hour.isBefore(cutoff));
+            windows.values().forEach(merged::merge);
+            for (LocalDateTime hour : dirtyWindows) {
+                changed.put(hour, windows.get(hour).entries());
+            }
+            dirtyWindows.clear();
+        }
+
+        // A template rather than @Transactional, which load() would bypass by calling refresh() on this
+        transactionTemplate.executeWithoutResult(status -> {
+            changed.forEach(this::saveSnapshot);
+            jdbcTemplate.update("DELETE FROM item_view_snapshots WHERE window_start < ?", Timestamp.valueOf(cutoff));
+        });
+
+        List<SpaceSaving.Entry> top = merged.top(capacity);
+        if (top.isEmpty()) {
+            popularItems = List.of();
+            return;
+        }
+        Map<Long, Item> activeItems = itemRepository.findAllByItemIdInAndIsActiveTrue(top.stream().map(SpaceSaving.Entry::key).toList())
+                .stream()
+                .collect(Collectors.toMap(Item::getItemId, Function.identity()));
+        List<PopularItemResponse> ranked = new ArrayList<>(top.size());
+        for (SpaceSaving.Entry entry : top) {
+            Item item = activeItems.get(entry.key());
+            if (item != null) {
+                ranked.add(new PopularItemResponse(item.getItemId(), item.getName(), item.getImageUrl(), item.getPrice(), entry.guaranteedCount()));
+            }
+        }
+        ranked.sort(Comparator.comparingLong(PopularItemResponse::getViews).reversed());
+        popularItems = List.copyOf(ranked);
+    }
+
+    private void saveSnapshot(LocalDateTime hour, List<SpaceSaving.Entry> entries) {
+        jdbcTemplate.update("DELETE FROM item_view_snapshots WHERE window_start = ?", Timestamp.valueOf(hour));
+        if (entries.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO item_view_snapshots (window_start, item_id, view_count, error_count) VALUES ");
+        Object[] args = new Object[entries.size() * 4];
+        int i = 0;
+        for (SpaceSaving.Entry entry : entries) {
+            sql.append(i == 0 ? "(?, ?, ?, ?)" : ",(?, ?, ?, ?)");
+            args[i++] = Timestamp.valueOf(hour);
+            args[i++] = entry.key();
+            args[i++] = entry.count();
+            args[i++] = entry.error();
+        }
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    private LocalDateTime retentionCutoff() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(windowHours - 1L);
+    }
+}
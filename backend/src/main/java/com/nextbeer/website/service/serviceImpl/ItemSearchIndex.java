@@ -0,0 +1,229 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.nextbeer.website.dto.response.CatalogCategoryResponse;
+import com.nextbeer.website.dto.response.CatalogMenuResponse;
+import com.nextbeer.website.dto.response.ItemResponseDto;
+import com.nextbeer.website.dto.response.ItemTagResponse;
+import com.nextbeer.website.dto.response.ItemVariantResponse;
+import com.nextbeer.website.event.CatalogChangedEvent;
+import com.nextbeer.website.repository.ItemRepository;
+import com.nextbeer.website.util.PrefixTrie;
+import com.nextbeer.website.util.SearchText;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory search over the visible catalog items. An inverted index maps every folded term of an
+ * item's name, description, tags and variants to the items containing it, weighted by the field
+ * it came from; a prefix trie over the same terms expands the word being typed. Item and tag
+ * writes update only the items they touch, other catalog writes resynchronise the whole index.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+
+    private static final int NAME_WEIGHT = 4;
+    private static final int TAG_WEIGHT = 3;
+    private static final int VARIANT_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int MAX_RESULTS = 50;
+
+    private final CatalogSnapshotBuilder snapshotBuilder;
+    private final ItemRepository itemRepository;
+
+    private final Map<Long, IndexedItem> items = new ConcurrentHashMap<>();
+    private final Map<String, Map<Long, Integer>> postings = new ConcurrentHashMap<>();
+    private final PrefixTrie terms = new PrefixTrie();
+
+    private record IndexedItem(ItemResponseDto item, Map<String, Integer> termWeights) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            rebuild();
+            log.info("Item search index loaded with {} items and {} terms", items.size(), postings.size());
+        } catch (RuntimeException e) {
+            log.warn("Could not load the item search index: {}", e.getMessage());
+        }
+    }
+
+    // Before the catalog version bump, so a search cached under the new ETag already sees the change
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        try {
+            switch (event.source()) {
+                // Neither changes what is searchable
+                case ITEM_ORDER, RESTAURANT -> {
+                }
+                case ITEM -> {
+                    if (event.entityId() != null) {
+                        reindex(List.of(event.entityId()));
+                    } else {
+                        rebuild();
+                    }
+                }
+                case ITEM_TAG -> {
+                    if (event.entityId() != null) {
+                        reindex(itemRepository.findItemIdsByTagId(event.entityId()));
+                    } else {
+                        rebuild();
+                    }
+                }
+                case MENU, CATEGORY -> rebuild();
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not update the item search index for {}", event, e);
+        }
+    }
+
+    // Items matching every word of the query, the last one as a prefix, best field matches first
+    public List<ItemResponseDto> search(String query, int limit) {
+        List<String> tokens = SearchText.tokens(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> scores = null;
+        for (int i = 0; i < tokens.size(); i++) {
+            // Copied, because postings can change under a concurrent reindex between retainAll and replaceAll
+            Map<Long, Integer> matches = i == tokens.size() - 1
+                    ? prefixMatches(tokens.get(i))
+                    : new HashMap<>(postings.getOrDefault(tokens.get(i), Map.of()));
+            if (scores == null) {
+                scores = new HashMap<>(matches);
+            } else {
+                scores.keySet().retainAll(matches.keySet());
+                scores.replaceAll((itemId, score) -> score + matches.get(itemId));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+        Map<Long, Integer> finalScores = scores;
+        return finalScores.keySet().stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingInt((IndexedItem indexed) -> finalScores.get(indexed.item().getItemId())).reversed()
+                        .thenComparing(indexed -> indexed.item().getName()))
+                .limit(Math.min(Math.max(limit, 1), MAX_RESULTS))
+                .map(IndexedItem::item)
+                .toList();
+    }
+
+    // Completes the last word of the query with the terms most items contain
+    public List<String> autocomplete(String query, int limit) {
+        List<String> tokens = SearchText.tokens(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        String typed = String.join(" ", tokens.subList(0, tokens.size() - 1));
+        List<String> suggestions = new ArrayList<>();
+        for (PrefixTrie.Completion completion : terms.complete(tokens.get(tokens.size() - 1), Math.min(Math.max(limit, 1), MAX_RESULTS))) {
+            suggestions.add(typed.isEmpty() ? completion.term() : typed + " " + completion.term());
+        }
+        return suggestions;
+    }
+
+    // Every term the prefix expands to, so an item matched only by a rare term is never cut off
+    private Map<Long, Integer> prefixMatches(String prefix) {
+        Map<Long, Integer> matches = new HashMap<>(postings.getOrDefault(prefix, Map.of()));
+        for (String term : terms.termsWithPrefix(prefix)) {
+            postings.getOrDefault(term, Map.of()).forEach((itemId, weight) -> matches.merge(itemId, weight, Math::max));
+        }
+        return matches;
+    }
+
+    // Puts every visible item and drops the rest, so searches never see a half-empty index
+    private synchronized void rebuild() {
+        Set<Long> visible = new HashSet<>();
+        for (CatalogMenuResponse menu : snapshotBuilder.build().getMenus()) {
+            for (CatalogCategoryResponse category : menu.getCategories()) {
+                for (ItemResponseDto item : category.getItems()) {
+                    put(item);
+                    visible.add(item.getItemId());
+                }
+            }
+        }
+        for (Long itemId : new ArrayList<>(items.keySet())) {
+            if (!visible.contains(itemId)) {
+                remove(itemId);
+            }
+        }
+    }
+
+    private synchronized void reindex(List<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        Set<Long> visible = new HashSet<>();
+        for (ItemResponseDto item : snapshotBuilder.buildVisibleItems(itemIds)) {
+            put(item);
+            visible.add(item.getItemId());
+        }
+        for (Long itemId : itemIds) {
+            if (!visible.contains(itemId)) {
+                remove(itemId);
+            }
+        }
+    }
+
+    private void put(ItemResponseDto item) {
+        remove(item.getItemId());
+        Map<String, Integer> termWeights = new HashMap<>();
+        addTerms(termWeights, item.getName(), NAME_WEIGHT);
+        addTerms(termWeights, item.getDescription(), DESCRIPTION_WEIGHT);
+        for (ItemTagResponse tag : item.getItemTagResponses()) {
+            addTerms(termWeights, tag.getName(), TAG_WEIGHT);
+        }
+        for (ItemVariantResponse variant : item.getItemVariantResponses()) {
+            addTerms(termWeights, variant.getName(), VARIANT_WEIGHT);
+        }
+        termWeights.forEach((term, weight) -> {
+            postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(item.getItemId(), weight);
+            terms.add(term);
+        });
+        items.put(item.getItemId(), new IndexedItem(item, termWeights));
+    }
+
+    private void remove(Long itemId) {
+        IndexedItem indexed = items.remove(itemId);
+        if (indexed == null) {
+            return;
+        }
+        for (String term : indexed.termWeights().keySet()) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(itemId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+            terms.remove(term);
+        }
+    }
+
+    private static void addTerms(Map<String, Integer> termWeights, String text, int weight) {
+        for (String token : SearchText.tokens(text)) {
+            termWeights.merge(token, weight, Math::max);
+        }
+    }
+}
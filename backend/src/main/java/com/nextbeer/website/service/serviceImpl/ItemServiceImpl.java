@@ -2,8 +2,12 @@ package com.nextbeer.website.service.serviceImpl;
 
 import com.nextbeer.website.dto.request.ItemOrderRequestDto;
 import com.nextbeer.website.dto.request.ItemRequestDto;
+import com.nextbeer.website.dto.response.CursorPageResponse;
 import com.nextbeer.website.dto.response.ItemResponseDto;
+import com.nextbeer.website.dto.response.PopularItemResponse;
+import com.nextbeer.website.enums.CatalogChangeSource;
 import com.nextbeer.website.enums.ImageDirectory;
+import com.nextbeer.website.event.CatalogChangedEvent;
 import com.nextbeer.website.exception.ItemNotFoundException;
 import com.nextbeer.website.mapper.ItemMapper;
 import com.nextbeer.website.model.Category;
@@ -13,8 +17,11 @@ import com.nextbeer.website.repository.ItemRepository;
 import com.nextbeer.website.service.CategoryService;
 import com.nextbeer.website.service.ItemService;
 import com.nextbeer.website.service.ItemTagService;
+import com.nextbeer.website.util.ItemCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -24,6 +31,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -31,16 +39,22 @@ import java.util.stream.Collectors;
 @Service
 public class ItemServiceImpl implements ItemService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final ItemRepository itemRepository;
     private final FileStorageService fileStorageService;
     private final CategoryService categoryService;
     private final ItemTagService itemTagService;
     private final ItemMapper itemMapper;
+    private final ItemPopularityTracker popularityTracker;
+    private final ItemSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
     public ItemResponseDto getItemDetailById(Long id) {
         Item item = getItemById(id);
+        popularityTracker.recordView(id);
         return itemMapper.toResponse(item);
     }
 
@@ -59,6 +73,7 @@ public class ItemServiceImpl implements ItemService {
         item.setDisplayOrder((maxOrder == null ? 0 : maxOrder) + 1);
         Item savedItem = itemRepository.save(item);
         log.info("new menu item added successfully to db with name : " + savedItem.getName());
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangeSource.ITEM, savedItem.getItemId()));
         return itemMapper.toResponse(item);
     }
 
@@ -78,6 +93,7 @@ public class ItemServiceImpl implements ItemService {
         List<ItemTag> itemTags = itemTagService.getAllTagsById(requestDto.getTagIds());
         Item updatedItem = itemRepository.save(itemMapper.toEntity(requestDto, category, itemTags, item, imageUrl));
         log.info("menu item updated successfully with name : " + updatedItem.getName());
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangeSource.ITEM, id));
         return itemMapper.toResponse(updatedItem);
     }
 
@@ -88,13 +104,47 @@ public class ItemServiceImpl implements ItemService {
         item.setActive(false);
         itemRepository.save(item);
         log.info("menu item removed successfully with name : " + item.getName());
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangeSource.ITEM, id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<ItemResponseDto> getAllItemsByCategoryId(Long categoryId, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("displayOrder").ascending());
-        Page<Item> items = itemRepository.findAllByCategory_CategoryIdAndIsActiveTrue(categoryId,pageable);
-        return items.map(itemMapper::toResponse);
+        // Collection fetch joins can't be paged in SQL, so page the ids first and fetch the associations for that page
+        Pageable pageable = PageRequest.of(page, size, Sort.by("displayOrder").ascending().and(Sort.by("itemId")));
+        Page<Long> ids = itemRepository.findActiveItemIdsByCategory(categoryId, pageable);
+        Map<Long, Item> items = ids.hasContent() ? findWithAssociations(ids.getContent()) : Map.of();
+        return ids.map(id -> itemMapper.toResponse(items.get(id)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ItemResponseDto> getItemsByCategoryIdAfter(Long categoryId, String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        ItemCursor after = ItemCursor.decode(cursor);
+        // One row past the page tells whether there is a next one, without a COUNT
+        List<Long> ids = itemRepository.findActiveItemIdsByCategoryAfter(
+                categoryId, after.displayOrder(), after.itemId(), Limit.of(limit + 1));
+        boolean hasNext = ids.size() > limit;
+        List<Long> pageIds = hasNext ? ids.subList(0, limit) : ids;
+        if (pageIds.isEmpty()) {
+            return new CursorPageResponse<>(List.of(), null, false);
+        }
+        Map<Long, Item> items = findWithAssociations(pageIds);
+        Item last = items.get(pageIds.get(pageIds.size() - 1));
+        String nextCursor = hasNext ? new ItemCursor(last.getDisplayOrder(), last.getItemId()).encode() : null;
+        return new CursorPageResponse<>(
+                pageIds.stream().map(id -> itemMapper.toResponse(items.get(id))).toList(),
+                nextCursor,
+                hasNext);
+    }
+
+    // Two queries whatever the page size; the second one fills the variants of the items the first one loaded
+    private Map<Long, Item> findWithAssociations(List<Long> ids) {
+        Map<Long, Item> items = itemRepository.findAllWithTagsByItemIdIn(ids).stream()
+                .collect(Collectors.toMap(Item::getItemId, Function.identity()));
+        itemRepository.findAllWithVariantsByItemIdIn(ids);
+        return items;
     }
 
     @Override
@@ -113,6 +163,22 @@ public class ItemServiceImpl implements ItemService {
                 .collect(Collectors.toMap(ItemOrderRequestDto::getItemId, ItemOrderRequestDto::getDisplayOrder));
         items.forEach(item -> item.setDisplayOrder(orderMap.get(item.getItemId())));
         itemRepository.saveAll(items);
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangeSource.ITEM_ORDER));
+    }
+
+    @Override
+    public List<PopularItemResponse> getPopularItems(int limit) {
+        return popularityTracker.getPopularItems(limit);
+    }
+
+    @Override
+    public List<ItemResponseDto> searchItems(String query, int limit) {
+        return searchIndex.search(query, limit);
+    }
+
+    @Override
+    public List<String> autocompleteItems(String query, int limit) {
+        return searchIndex.autocomplete(query, limit);
     }
 
 }
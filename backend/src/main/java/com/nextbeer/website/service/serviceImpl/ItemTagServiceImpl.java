@@ -6,9 +6,12 @@ import com.nextbeer.website.repository.ItemRepository;
 import com.nextbeer.website.repository.ItemTagRepository;
 import com.nextbeer.website.dto.request.ItemTagRequestDto;
 import com.nextbeer.website.dto.response.ItemTagResponse;
+import com.nextbeer.website.enums.CatalogChangeSource;
+import com.nextbeer.website.event.CatalogChangedEvent;
 import com.nextbeer.website.model.ItemTag;
 import com.nextbeer.website.service.ItemTagService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +23,7 @@ import java.util.stream.Collectors;
 public class ItemTagServiceImpl implements ItemTagService {
     private final ItemTagRepository itemTagRepository;
     private final ItemRepository itemRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -34,6 +38,7 @@ public class ItemTagServiceImpl implements ItemTagService {
                 .name(requestDto.getName())
                 .isActive(true)
                 .build());
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangeSource.ITEM_TAG, savedItemTag.getId()));
         return ItemTagResponse.builder()
                 .id(savedItemTag.getId())
                 .name(savedItemTag.getName())
@@ -45,6 +50,7 @@ public class ItemTagServiceImpl implements ItemTagService {
     public ItemTagResponse updateItemTag(Long id, ItemTagRequestDto requestDto) {
         ItemTag itemtag = findItemTagById(id);
         itemtag.setName(requestDto.getName());
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangeSource.ITEM_TAG, id));
         return ItemTagResponse.builder().name(itemtag.getName()).build();
     }
 
@@ -54,6 +60,7 @@ public class ItemTagServiceImpl implements ItemTagService {
         ItemTag itemTag = findItemTagById(id);
         itemTag.setActive(false);
         itemTagRepository.save(itemTag);
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangeSource.ITEM_TAG, id));
     }
 
     @Override
@@ -0,0 +1,97 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.nextbeer.website.dto.response.LiveScanUpdate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pushes the live hourly scan count to connected dashboards over Server-Sent Events.
+ * Updates are coalesced: a single scheduled tick sends at most one event per client,
+ * and only when the count has changed since the previous tick.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LiveScanBroadcaster {
+
+    private final LiveScanCounter liveScanCounter;
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    @Value("${app.analytics.live.max-clients:20}")
+    private int maxClients;
+
+    @Value("${app.analytics.live.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${app.analytics.live.heartbeat-interval-ms:15000}")
+    private long heartbeatIntervalMs;
+
+    private LiveScanUpdate lastPushed;
+    private long lastPushMillis;
+
+    // Returns null when the client cap has been reached
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        synchronized (emitters) {
+            if (emitters.size() >= maxClients) {
+                return null;
+            }
+            emitters.add(emitter);
+        }
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> emitters.remove(emitter));
+        send(emitter, liveScanCounter.snapshot());
+        return emitter;
+    }
+
+    @Scheduled(fixedRateString = "${app.analytics.live.push-interval-ms:1000}")
+    public void pushUpdates() {
+        if (emitters.isEmpty()) {
+            return;
+        }
+        LiveScanUpdate update = liveScanCounter.snapshot();
+        long now = System.currentTimeMillis();
+        if (update.equals(lastPushed)) {
+            // Nothing new; a periodic comment lets us notice clients that went away
+            if (now - lastPushMillis >= heartbeatIntervalMs) {
+                emitters.forEach(this::sendHeartbeat);
+                lastPushMillis = now;
+            }
+            return;
+        }
+        emitters.forEach(emitter -> send(emitter, update));
+        lastPushed = update;
+        lastPushMillis = now;
+    }
+
+    private void send(SseEmitter emitter, LiveScanUpdate update) {
+        try {
+            emitter.send(SseEmitter.event().name("scans").data(update));
+        } catch (IOException | IllegalStateException e) {
+            drop(emitter);
+        }
+    }
+
+    private void sendHeartbeat(SseEmitter emitter) {
+        try {
+            emitter.send(SseEmitter.event().comment("keep-alive"));
+        } catch (IOException | IllegalStateException e) {
+            drop(emitter);
+        }
+    }
+
+    private void drop(SseEmitter emitter) {
+        emitters.remove(emitter);
+        emitter.complete();
+        log.debug("Live scan client disconnected, {} remaining", emitters.size());
+    }
+}
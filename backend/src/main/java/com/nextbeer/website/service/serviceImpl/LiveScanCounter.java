@@ -0,0 +1,70 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.nextbeer.website.dto.response.LiveScanUpdate;
+import com.nextbeer.website.model.QRScanHourly;
+import com.nextbeer.website.repository.QRScanHourlyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Scan count for the current hour, kept in memory so live dashboards never query the database.
+ * The hour is seeded once from the rollup at startup; after that every logged scan bumps a
+ * striped {@link LongAdder} and the bucket rolls over when the clock crosses into a new hour.
+ */
+@Component
+@RequiredArgsConstructor
+public class LiveScanCounter {
+
+    private final QRScanHourlyRepository hourlyRepository;
+
+    private volatile HourBucket current;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedCurrentHour() {
+        LocalDateTime hourStart = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        long persisted = hourlyRepository.findById(hourStart).map(QRScanHourly::getScanCount).orElse(0L);
+        synchronized (this) {
+            HourBucket bucket = current;
+            LongAdder recorded = bucket != null && bucket.hourStart().equals(hourStart) ? bucket.recorded() : new LongAdder();
+            current = new HourBucket(hourStart, persisted, recorded);
+        }
+    }
+
+    public void record(LocalDateTime scanTime) {
+        LocalDateTime hourStart = scanTime.truncatedTo(ChronoUnit.HOURS);
+        HourBucket bucket = bucketFor(hourStart);
+        // A scan stamped just before a rollover belongs to an hour that is no longer live
+        if (bucket.hourStart().equals(hourStart)) {
+            bucket.recorded().increment();
+        }
+    }
+
+    public LiveScanUpdate snapshot() {
+        HourBucket bucket = bucketFor(LocalDateTime.now().truncatedTo(ChronoUnit.HOURS));
+        return new LiveScanUpdate(bucket.hourStart(), bucket.persisted() + bucket.recorded().sum());
+    }
+
+    private HourBucket bucketFor(LocalDateTime hourStart) {
+        HourBucket bucket = current;
+        if (bucket != null && !hourStart.isAfter(bucket.hourStart())) {
+            return bucket;
+        }
+        synchronized (this) {
+            bucket = current;
+            if (bucket == null || hourStart.isAfter(bucket.hourStart())) {
+                bucket = new HourBucket(hourStart, 0, new LongAdder());
+                current = bucket;
+            }
+            return bucket;
+        }
+    }
+
+    private record HourBucket(LocalDateTime hourStart, long persisted, LongAdder recorded) {
+    }
+}
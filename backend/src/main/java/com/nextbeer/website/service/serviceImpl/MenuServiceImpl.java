@@ -2,7 +2,9 @@ package com.nextbeer.website.service.serviceImpl;
 
 import com.nextbeer.website.dto.request.MenuRequestDto;
 import com.nextbeer.website.dto.response.MenuResponse;
+import com.nextbeer.website.enums.CatalogChangeSource;
 import com.nextbeer.website.enums.ImageDirectory;
+import com.nextbeer.website.event.CatalogChangedEvent;
 import com.nextbeer.website.mapper.MenuMapper;
 import com.nextbeer.website.model.Menu;
 import com.nextbeer.website.repository.MenuRepository;
@@ -10,6 +12,7 @@ import com.nextbeer.website.service.MenuService;
 import com.nextbeer.website.exception.MenuNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
@@ -26,6 +29,7 @@ public class MenuServiceImpl implements MenuService {
     private final MenuRepository menuRepository;
     private final MenuMapper menuMapper;
     private final FileStorageService fileStorageService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -44,6 +48,7 @@ public class MenuServiceImpl implements MenuService {
         Menu menu = menuMapper.toEntity(requestDto, imageUrl);
         Menu savedMenu = menuRepository.save(menu);
         log.info("new main menu added successfully to db with name : " + savedMenu.getName());
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangeSource.MENU));
         return menuMapper.toResponse(savedMenu);
     }
 
@@ -61,6 +66,7 @@ public class MenuServiceImpl implements MenuService {
         }
         Menu updatedMenu = menuRepository.save(menuMapper.toEntity(requestDto, menu, imageUrl));
         log.info("main menu updated successfully with name : " + updatedMenu.getName());
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangeSource.MENU));
         return menuMapper.toResponse(updatedMenu);
     }
 
@@ -71,6 +77,7 @@ public class MenuServiceImpl implements MenuService {
         existingMenu.setActive(false);
         menuRepository.save(existingMenu);
         log.info("main menu item removed successfully with name : " + existingMenu.getName());
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangeSource.MENU));
     }
 
     @Override
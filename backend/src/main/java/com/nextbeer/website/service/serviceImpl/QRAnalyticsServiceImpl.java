@@ -1,17 +1,35 @@
 package com.nextbeer.website.service.serviceImpl;
 
+import com.nextbeer.website.dto.request.AnalyticsCompareRequestDto;
 import com.nextbeer.website.dto.request.AnalyticsRequestDto;
 import com.nextbeer.website.dto.response.DailyChartData;
+import com.nextbeer.website.dto.response.DashboardOverview;
 import com.nextbeer.website.dto.response.DashboardStats;
 import com.nextbeer.website.dto.response.HourlyChartData;
-import com.nextbeer.website.model.QRScan;
-import com.nextbeer.website.repository.QRScanRepository;
+import com.nextbeer.website.dto.response.RangeComparison;
+import com.nextbeer.website.dto.response.ScanHeatMap;
+import com.nextbeer.website.dto.response.SourceScanStats;
+import com.nextbeer.website.dto.response.TimeBucketData;
+import com.nextbeer.website.dto.response.VisitorStats;
+import com.nextbeer.website.enums.DateRangeType;
+import com.nextbeer.website.enums.ScanIngestionMode;
+import com.nextbeer.website.enums.ScanIngestionResult;
+import com.nextbeer.website.enums.TimeGranularity;
+import com.nextbeer.website.exception.InvalidDateRangeException;
+import com.nextbeer.website.exception.InvalidGranularityException;
+import com.nextbeer.website.model.DateRange;
+import com.nextbeer.website.model.ScanEvent;
+import com.nextbeer.website.repository.QRScanHourlyRepository;
+import com.nextbeer.website.repository.QRSourceRepository;
 import com.nextbeer.website.service.QRAnalyticsService;
+import com.nextbeer.website.util.SeriesDownsampler;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -19,88 +37,311 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.ToDoubleFunction;
 
 
 @Service
 @RequiredArgsConstructor
 public class QRAnalyticsServiceImpl implements QRAnalyticsService {
 
-    private final QRScanRepository scanRepository;
+    private final QRScanHourlyRepository hourlyRepository;
+    private final QRSourceRepository sourceRepository;
+    private final QRScanIngestionBuffer ingestionBuffer;
+    private final QRScanBatchWriter batchWriter;
+    private final AnalyticsResultCache resultCache;
+    private final LiveScanCounter liveScanCounter;
+    private final ScanSegmentStore segmentStore;
+    private final TimeBucketEngine bucketEngine;
+    private final ScanRangeIndex rangeIndex;
+    private final VisitorKeyHasher visitorKeyHasher;
+    private final UniqueVisitorCounter uniqueVisitorCounter;
+    private final QRSourceDictionary sourceDictionary;
+    private final ScanDeduplicator deduplicator;
+    private final ScanAdmissionController admissionController;
+
+    @Value("${app.analytics.ingestion.mode:BUFFERED}")
+    private ScanIngestionMode ingestionMode;
+
+    @Value("${app.analytics.max-custom-range-days:1096}")
+    private long maxCustomRangeDays;
 
     @Override
-    public void logScan() {
-        QRScan scan = new QRScan();
-        scan.setScanTime(LocalDateTime.now());
-        scanRepository.save(scan);
+    public ScanIngestionResult logScan(String clientAddress, String userAgent, String sourceCode) {
+        ScanEvent event = toScanEvent(clientAddress, userAgent, sourceCode);
+        // A suppressed repeat gets the same response as a recorded scan
+        if (deduplicator.isDuplicate(event.visitorHash(), event.sourceId())) {
+            return ingestionMode == ScanIngestionMode.BUFFERED ? ScanIngestionResult.QUEUED : ScanIngestionResult.WRITTEN;
+        }
+        if (ingestionMode == ScanIngestionMode.DIRECT) {
+            if (admissionController.tryAcquire()) {
+                try {
+                    liveScanCounter.record(event.scanTime());
+                    batchWriter.write(List.of(event));
+                    return ScanIngestionResult.WRITTEN;
+                } finally {
+                    admissionController.release();
+                }
+            }
+            // Leave the connections to catalog reads and let the flusher write the scan later
+            admissionController.recordShed();
+        }
+        return enqueue(event);
     }
 
+    // Never writes on the caller's thread, whatever the ingestion mode
+    @Override
+    public ScanIngestionResult queueScan(String clientAddress, String userAgent, String sourceCode) {
+        ScanEvent event = toScanEvent(clientAddress, userAgent, sourceCode);
+        if (deduplicator.isDuplicate(event.visitorHash(), event.sourceId())) {
+            return ScanIngestionResult.QUEUED;
+        }
+        return enqueue(event);
+    }
+
+    private ScanEvent toScanEvent(String clientAddress, String userAgent, String sourceCode) {
+        return new ScanEvent(LocalDateTime.now(),
+                visitorKeyHasher.hash(clientAddress, userAgent),
+                sourceDictionary.resolve(sourceCode));
+    }
+
+    private ScanIngestionResult enqueue(ScanEvent event) {
+        if (!ingestionBuffer.offer(event)) {
+            return ScanIngestionResult.REJECTED;
+        }
+        liveScanCounter.record(event.scanTime());
+        return ScanIngestionResult.QUEUED;
+    }
+
+    // Not transactional: a cache hit must not borrow a pooled connection
     @Override
-    @Transactional(readOnly = true)
     public List<DailyChartData> getChartData(AnalyticsRequestDto request) {
         DateRange dateRange = calculateDateRange(request);
-        return getDailyChartData(dateRange.startDate(), dateRange.endDate());
+        List<DailyChartData> chartData = resultCache.get("daily-chart", dateRange,
+                () -> List.copyOf(getDailyChartData(dateRange.startDate(), dateRange.endDate())));
+        return downsample(chartData, request.getMaxPoints(), DailyChartData::getScans);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public DashboardStats getDashboardStats(AnalyticsRequestDto request) {
         DateRange dateRange = calculateDateRange(request);
 
         DashboardStats stats = new DashboardStats();
-        stats.setTotalScans(scanRepository.countScansBetween(
-                dateRange.startDate(),
-                dateRange.endDate()
-        ));
+        stats.setTotalScans(rangeIndex.isReady()
+                ? rangeIndex.total(dateRange.startDate(), dateRange.endDate())
+                : resultCache.get("total", dateRange,
+                        () -> hourlyRepository.sumScansBetween(dateRange.startDate(), dateRange.endDate())));
         stats.setStartDate(dateRange.startDate().toLocalDate());
-        stats.setEndDate(dateRange.endDate().toLocalDate());
+        stats.setEndDate(dateRange.lastDay());
         stats.setRangeType(request.getRangeType().name());
 
         return stats;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<HourlyChartData> getTodayHourlyChart() {
         LocalDateTime todayStart = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
-        LocalDateTime now = LocalDateTime.now();
-        return getHourlyChartData(todayStart, now);
+        DateRange today = new DateRange(todayStart, todayStart.plusDays(1));
+        return resultCache.get("hourly-chart", today,
+                () -> List.copyOf(getHourlyChartData(today.startDate(), today.endDate())));
+    }
+
+    // Open periods run to the end of today so that the resolved range, and its cache key, stays stable all day
+    @Override
+    @Transactional(readOnly = true)
+    public DashboardOverview getDashboardOverview(AnalyticsRequestDto request) {
+        DateRange range = calculateDateRange(request);
+        DateRange previous = calculatePreviousRange(request, range);
+        LocalDateTime todayStart = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+        DateRange today = new DateRange(todayStart, todayStart.plusDays(1));
+
+        // One grouped read of the rollup covers the range, the comparison period and today
+        List<Object[]> buckets = hourlyRepository.getBucketsInRanges(
+                previous.startDate(), range.endDate(),
+                today.startDate(), today.endDate()
+        );
+
+        LocalDate firstDay = range.startDate().toLocalDate();
+        long[] dailyScans = new long[(int) ChronoUnit.DAYS.between(firstDay, range.lastDay()) + 1];
+        long[] hourlyScans = new long[24];
+        long totalScans = 0;
+        long previousScans = 0;
+        for (Object[] row : buckets) {
+            LocalDateTime bucketStart = (LocalDateTime) row[0];
+            long count = ((Number) row[1]).longValue();
+            if (range.contains(bucketStart)) {
+                totalScans += count;
+                dailyScans[(int) ChronoUnit.DAYS.between(firstDay, bucketStart.toLocalDate())] += count;
+            } else if (previous.contains(bucketStart)) {
+                previousScans += count;
+            }
+            if (today.contains(bucketStart)) {
+                hourlyScans[bucketStart.getHour()] += count;
+            }
+        }
+
+        List<DailyChartData> dailyChart = new ArrayList<>(dailyScans.length);
+        for (int day = 0; day < dailyScans.length; day++) {
+            dailyChart.add(new DailyChartData(firstDay.plusDays(day), (int) dailyScans[day]));
+        }
+        List<HourlyChartData> hourlyChart = new ArrayList<>(24);
+        for (int hour = 0; hour < 24; hour++) {
+            hourlyChart.add(new HourlyChartData(hour, (int) hourlyScans[hour]));
+        }
+
+        return DashboardOverview.builder()
+                .stats(new DashboardStats(totalScans, firstDay, range.lastDay(), request.getRangeType().name()))
+                .previousPeriodScans(previousScans)
+                .changePercent(previousScans == 0 ? null : (totalScans - previousScans) * 100.0 / previousScans)
+                .dailyChart(downsample(dailyChart, request.getMaxPoints(), DailyChartData::getScans))
+                .hourlyToday(hourlyChart)
+                .build();
+    }
+
+    @Override
+    public List<TimeBucketData> getBucketSeries(AnalyticsRequestDto request) {
+        DateRange dateRange = calculateDateRange(request);
+        TimeGranularity granularity = request.getGranularity() != null ? request.getGranularity() : TimeGranularity.DAY;
+        List<TimeBucketData> series = resultCache.get("series-" + granularity, dateRange,
+                () -> List.copyOf(bucketEngine.series(dateRange, granularity)));
+        return downsample(series, request.getMaxPoints(), TimeBucketData::getScans);
+    }
+
+    @Override
+    public List<RangeComparison> compareRanges(AnalyticsCompareRequestDto request) {
+        TimeGranularity granularity = request.getGranularity() != null ? request.getGranularity() : TimeGranularity.DAY;
+        // Comparisons read the hourly rollup only
+        if (granularity.isSubHourly()) {
+            throw new InvalidGranularityException("Range comparisons support HOUR granularity or coarser, not " + granularity);
+        }
+        List<DateRange> ranges = request.getRanges().stream().map(this::calculateDateRange).toList();
+        List<List<TimeBucketData>> series = bucketEngine.compare(ranges, granularity);
+
+        List<RangeComparison> comparisons = new ArrayList<>(ranges.size());
+        for (int i = 0; i < ranges.size(); i++) {
+            DateRange range = ranges.get(i);
+            comparisons.add(RangeComparison.builder()
+                    .rangeType(request.getRanges().get(i).getRangeType().name())
+                    .startDate(range.startDate().toLocalDate())
+                    .endDate(range.lastDay())
+                    .totalScans(series.get(i).stream().mapToLong(TimeBucketData::getScans).sum())
+                    .series(series.get(i))
+                    .build());
+        }
+        return comparisons;
+    }
+
+    @Override
+    public ScanHeatMap getHeatMap(AnalyticsRequestDto request) {
+        DateRange dateRange = calculateDateRange(request);
+        return resultCache.get("heatmap", dateRange, () -> buildHeatMap(dateRange));
+    }
+
+    @Override
+    public VisitorStats getVisitorStats(AnalyticsRequestDto request) {
+        DateRange dateRange = calculateDateRange(request);
+        return VisitorStats.builder()
+                .startDate(dateRange.startDate().toLocalDate())
+                .endDate(dateRange.lastDay())
+                .rangeType(request.getRangeType().name())
+                .uniqueVisitors(resultCache.get("visitors", dateRange, () -> uniqueVisitorCounter.estimate(dateRange)))
+                .build();
+    }
+
+    @Override
+    public List<SourceScanStats> getSourceStats(AnalyticsRequestDto request) {
+        DateRange dateRange = calculateDateRange(request);
+        return resultCache.get("sources", dateRange, () -> sourceRepository.getScansBySource(dateRange.startDate(), dateRange.endDate())
+                .stream()
+                .map(row -> new SourceScanStats((String) row[0], ((Number) row[1]).longValue()))
+                .toList());
+    }
+
+    // Exports are CUSTOM ranges and follow the same validation
+    @Override
+    public DateRange getExportRange(LocalDate startDate, LocalDate endDate) {
+        AnalyticsRequestDto request = new AnalyticsRequestDto();
+        request.setRangeType(DateRangeType.CUSTOM);
+        request.setStartDate(startDate);
+        request.setEndDate(endDate);
+        return calculateDateRange(request);
+    }
+
+    @Override
+    public List<String> getSourceCodes() {
+        return sourceDictionary.codes();
+    }
+
+    @Override
+    public void registerSourceCode(String code) {
+        sourceDictionary.register(code);
+    }
+
+    private ScanHeatMap buildHeatMap(DateRange range) {
+        long[][] totals = new long[7][24];
+        for (Object[] row : hourlyRepository.getBuckets(range.startDate(), range.endDate())) {
+            LocalDateTime bucketStart = (LocalDateTime) row[0];
+            totals[bucketStart.getDayOfWeek().getValue() - 1][bucketStart.getHour()] += ((Number) row[1]).longValue();
+        }
+
+        int[] weekdayOccurrences = new int[7];
+        for (LocalDate day = range.startDate().toLocalDate(); !day.isAfter(range.lastDay()); day = day.plusDays(1)) {
+            weekdayOccurrences[day.getDayOfWeek().getValue() - 1]++;
+        }
+        double[][] averages = new double[7][24];
+        for (int weekday = 0; weekday < 7; weekday++) {
+            for (int hour = 0; hour < 24 && weekdayOccurrences[weekday] > 0; hour++) {
+                averages[weekday][hour] = (double) totals[weekday][hour] / weekdayOccurrences[weekday];
+            }
+        }
+
+        return ScanHeatMap.builder()
+                .startDate(range.startDate().toLocalDate())
+                .endDate(range.lastDay())
+                .averageScans(averages)
+                .totalScans(totals)
+                .build();
     }
 
     private DateRange calculateDateRange(AnalyticsRequestDto request) {
-        LocalDateTime endDate = LocalDateTime.now();
+        LocalDateTime now = LocalDateTime.now();
         LocalDateTime startDate;
+        LocalDateTime endDate = now.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+        if (request.getRangeType() == null) {
+            throw new InvalidDateRangeException("rangeType is required");
+        }
 
         switch (request.getRangeType()) {
             case CURRENT_WEEK:
-                startDate = endDate.with(DayOfWeek.MONDAY).truncatedTo(ChronoUnit.DAYS);
+                startDate = now.with(DayOfWeek.MONDAY).truncatedTo(ChronoUnit.DAYS);
                 break;
 
             case LAST_WEEK:
-                LocalDateTime lastWeekEnd = endDate.with(DayOfWeek.MONDAY)
-                        .truncatedTo(ChronoUnit.DAYS)
-                        .minusNanos(1);
-                startDate = lastWeekEnd.minusDays(6).truncatedTo(ChronoUnit.DAYS);
-                endDate = lastWeekEnd;
+                endDate = now.with(DayOfWeek.MONDAY).truncatedTo(ChronoUnit.DAYS);
+                startDate = endDate.minusWeeks(1);
                 break;
 
             case CURRENT_MONTH:
-                startDate = endDate.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+                startDate = now.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
                 break;
 
             case LAST_MONTH:
-                LocalDateTime lastMonthEnd = endDate.withDayOfMonth(1)
-                        .truncatedTo(ChronoUnit.DAYS)
-                        .minusNanos(1);
-                startDate = lastMonthEnd.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
-                endDate = lastMonthEnd;
+                endDate = now.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+                startDate = endDate.minusMonths(1);
                 break;
 
             case CUSTOM:
                 if (request.getStartDate() == null || request.getEndDate() == null) {
-                    throw new IllegalArgumentException("Custom range requires startDate and endDate");
+                    throw new InvalidDateRangeException("Custom range requires startDate and endDate");
+                }
+                if (request.getStartDate().isAfter(request.getEndDate())) {
+                    throw new InvalidDateRangeException("startDate must not be after endDate");
+                }
+                // Per-day arrays are sized from the span, so it has to stay bounded
+                if (ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate()) >= maxCustomRangeDays) {
+                    throw new InvalidDateRangeException("Custom range may span at most " + maxCustomRangeDays + " days");
                 }
                 startDate = request.getStartDate().atStartOfDay();
-                endDate = request.getEndDate().atTime(23, 59, 59);
+                endDate = request.getEndDate().plusDays(1).atStartOfDay();
                 break;
 
             default:
@@ -109,20 +350,25 @@ public class QRAnalyticsServiceImpl implements QRAnalyticsService {
 
         return new DateRange(startDate, endDate);
     }
+
+    // The period the dashboard compares against: the same calendar span one week/month earlier, or the equally long span before a custom range
+    private DateRange calculatePreviousRange(AnalyticsRequestDto request, DateRange range) {
+        return switch (request.getRangeType()) {
+            case CURRENT_WEEK, LAST_WEEK -> new DateRange(range.startDate().minusWeeks(1), range.endDate().minusWeeks(1));
+            case CURRENT_MONTH, LAST_MONTH -> new DateRange(range.startDate().minusMonths(1), range.endDate().minusMonths(1));
+            case CUSTOM -> new DateRange(range.startDate().minus(Duration.between(range.startDate(), range.endDate())), range.startDate());
+        };
+    }
+
     @Transactional(readOnly = true)
     public List<DailyChartData> getDailyChartData(LocalDateTime startDate, LocalDateTime endDate) {
-        List<Object[]> dbData = scanRepository.getDailyScans(startDate, endDate);
-
-        Map<LocalDate, Long> dataMap = new HashMap<>();
-        for (Object[] row : dbData) {
-            LocalDate date = ((java.sql.Date) row[0]).toLocalDate();
-            Long count = ((Number) row[1]).longValue();
-            dataMap.put(date, count);
-        }
+        Map<LocalDate, Long> dataMap = segmentStore.isReady()
+                ? getDailyCountsFromSegments(startDate, endDate)
+                : getDailyCountsFromRollup(startDate, endDate);
 
         List<DailyChartData> chartData = new ArrayList<>();
         LocalDate current = startDate.toLocalDate();
-        LocalDate end = endDate.toLocalDate();
+        LocalDate end = new DateRange(startDate, endDate).lastDay();
 
         while (!current.isAfter(end)) {
             DailyChartData data = new DailyChartData();
@@ -136,14 +382,9 @@ public class QRAnalyticsServiceImpl implements QRAnalyticsService {
     }
     @Transactional(readOnly = true)
     public List<HourlyChartData> getHourlyChartData(LocalDateTime startDate, LocalDateTime endDate) {
-        List<Object[]> dbData = scanRepository.getHourlyScans(startDate, endDate);
-
-        Map<Integer, Long> dataMap = new HashMap<>();
-        for (Object[] row : dbData) {
-            Integer hour = ((Number) row[0]).intValue();
-            Long count = ((Number) row[1]).longValue();
-            dataMap.put(hour, count);
-        }
+        Map<Integer, Long> dataMap = segmentStore.isReady()
+                ? getHourlyCountsFromSegments(startDate, endDate)
+                : getHourlyCountsFromRollup(startDate, endDate);
 
         List<HourlyChartData> chartData = new ArrayList<>();
         for (int hour = 0; hour < 24; hour++) {
@@ -156,7 +397,55 @@ public class QRAnalyticsServiceImpl implements QRAnalyticsService {
         return chartData;
     }
 
-    private record DateRange(LocalDateTime startDate, LocalDateTime endDate) {
+    private Map<LocalDate, Long> getDailyCountsFromRollup(LocalDateTime startDate, LocalDateTime endDate) {
+        Map<LocalDate, Long> dataMap = new HashMap<>();
+        for (Object[] row : hourlyRepository.getDailyScans(startDate, endDate)) {
+            LocalDate date = ((java.sql.Date) row[0]).toLocalDate();
+            Long count = ((Number) row[1]).longValue();
+            dataMap.put(date, count);
+        }
+        return dataMap;
+    }
+
+    private Map<LocalDate, Long> getDailyCountsFromSegments(LocalDateTime startDate, LocalDateTime endDate) {
+        Map<LocalDate, Long> dataMap = new HashMap<>();
+        for (LocalDate day = startDate.toLocalDate(); day.atStartOfDay().isBefore(endDate); day = day.plusDays(1)) {
+            LocalDateTime from = max(day.atStartOfDay(), startDate);
+            LocalDateTime to = min(day.plusDays(1).atStartOfDay(), endDate);
+            dataMap.put(day, segmentStore.count(from, to));
+        }
+        return dataMap;
+    }
+
+    private Map<Integer, Long> getHourlyCountsFromRollup(LocalDateTime startDate, LocalDateTime endDate) {
+        Map<Integer, Long> dataMap = new HashMap<>();
+        for (Object[] row : hourlyRepository.getHourlyScans(startDate, endDate)) {
+            Integer hour = ((Number) row[0]).intValue();
+            Long count = ((Number) row[1]).longValue();
+            dataMap.put(hour, count);
+        }
+        return dataMap;
+    }
+
+    private Map<Integer, Long> getHourlyCountsFromSegments(LocalDateTime startDate, LocalDateTime endDate) {
+        Map<Integer, Long> dataMap = new HashMap<>();
+        for (LocalDateTime hourStart = startDate.truncatedTo(ChronoUnit.HOURS); hourStart.isBefore(endDate); hourStart = hourStart.plusHours(1)) {
+            long count = segmentStore.count(max(hourStart, startDate), min(hourStart.plusHours(1), endDate));
+            dataMap.merge(hourStart.getHour(), count, Long::sum);
+        }
+        return dataMap;
+    }
+
+    // The cache keeps the full series; each request downsamples its own copy
+    private static <T> List<T> downsample(List<T> series, Integer maxPoints, ToDoubleFunction<T> scans) {
+        return maxPoints == null ? series : SeriesDownsampler.lttb(series, maxPoints, scans);
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
 
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
     }
 }
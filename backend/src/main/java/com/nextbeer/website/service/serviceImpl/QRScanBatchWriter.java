@@ -0,0 +1,106 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.nextbeer.website.model.ScanEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Component
+@RequiredArgsConstructor
+public class QRScanBatchWriter {
+
+    private static final int MAX_ROWS_PER_STATEMENT = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ScanSegmentStore segmentStore;
+    private final ScanRangeIndex rangeIndex;
+    private final UniqueVisitorCounter uniqueVisitorCounter;
+
+    // Writes the raw scans, bumps the hourly rollups and merges the visitor sketches in the same transaction
+    @Transactional
+    public void write(List<ScanEvent> events) {
+        insertScans(events);
+        upsertHourlyRollup(events);
+        upsertHourlySourceRollup(events);
+        uniqueVisitorCounter.fold(events);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                segmentStore.append(events);
+                rangeIndex.add(events);
+            }
+        });
+    }
+
+    // Multi-row INSERT statements instead of one IDENTITY insert per scan
+    private void insertScans(List<ScanEvent> events) {
+        for (int from = 0; from < events.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<ScanEvent> chunk = events.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, events.size()));
+            StringBuilder sql = new StringBuilder("INSERT INTO qr_scans (scan_time, source_id) VALUES ");
+            Object[] args = new Object[chunk.size() * 2];
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "(?, ?)" : ",(?, ?)");
+                args[i * 2] = Timestamp.valueOf(chunk.get(i).scanTime());
+                args[i * 2 + 1] = chunk.get(i).sourceId();
+            }
+            jdbcTemplate.update(sql.toString(), args);
+        }
+    }
+
+    private void upsertHourlyRollup(List<ScanEvent> events) {
+        Map<LocalDateTime, Long> countsByHour = new TreeMap<>();
+        for (ScanEvent event : events) {
+            countsByHour.merge(event.scanTime().truncatedTo(ChronoUnit.HOURS), 1L, Long::sum);
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO qr_scan_hourly (bucket_start, scan_count) VALUES ");
+        Object[] args = new Object[countsByHour.size() * 2];
+        int i = 0;
+        for (Map.Entry<LocalDateTime, Long> entry : countsByHour.entrySet()) {
+            sql.append(i == 0 ? "(?, ?)" : ",(?, ?)");
+            args[i++] = Timestamp.valueOf(entry.getKey());
+            args[i++] = entry.getValue();
+        }
+        sql.append(" ON DUPLICATE KEY UPDATE scan_count = scan_count + VALUES(scan_count)");
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    private void upsertHourlySourceRollup(List<ScanEvent> events) {
+        Map<LocalDateTime, Map<Integer, Long>> countsByHour = new TreeMap<>();
+        int rows = 0;
+        for (ScanEvent event : events) {
+            if (event.sourceId() == null) {
+                continue;
+            }
+            Map<Integer, Long> countsBySource = countsByHour.computeIfAbsent(event.scanTime().truncatedTo(ChronoUnit.HOURS), hour -> new TreeMap<>());
+            if (countsBySource.merge(event.sourceId(), 1L, Long::sum) == 1L) {
+                rows++;
+            }
+        }
+        if (rows == 0) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO qr_scan_hourly_source (bucket_start, source_id, scan_count) VALUES ");
+        Object[] args = new Object[rows * 3];
+        int i = 0;
+        for (Map.Entry<LocalDateTime, Map<Integer, Long>> hour : countsByHour.entrySet()) {
+            for (Map.Entry<Integer, Long> source : hour.getValue().entrySet()) {
+                sql.append(i == 0 ? "(?, ?, ?)" : ",(?, ?, ?)");
+                args[i++] = Timestamp.valueOf(hour.getKey());
+                args[i++] = source.getKey();
+                args[i++] = source.getValue();
+            }
+        }
+        sql.append(" ON DUPLICATE KEY UPDATE scan_count = scan_count + VALUES(scan_count)");
+        jdbcTemplate.update(sql.toString(), args);
+    }
+}
@@ -0,0 +1,192 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.nextbeer.website.model.ScanEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-memory queue for QR scans. A single background thread drains it and
+ * hands the scans to {@link QRScanBatchWriter} once a batch is full or the flush
+ * interval has elapsed, so request threads never wait on a database connection.
+ */
+@Slf4j
+@Component
+public class QRScanIngestionBuffer implements SmartLifecycle {
+
+    private static final long MIN_ADMISSION_BACKOFF_MS = 10;
+    private static final long MAX_ADMISSION_BACKOFF_MS = 500;
+
+    private final QRScanBatchWriter batchWriter;
+    private final ScanAdmissionController admissionController;
+    private final BlockingQueue<ScanEvent> queue;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private final Counter writtenCounter;
+    private final Counter bypassedCounter;
+
+    @Value("${app.analytics.ingestion.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.analytics.ingestion.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${app.analytics.admission.max-flush-delay-ms:5000}")
+    private long maxFlushDelayMs;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public QRScanIngestionBuffer(QRScanBatchWriter batchWriter,
+                                 ScanAdmissionController admissionController,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.analytics.ingestion.queue-capacity:10000}") int queueCapacity) {
+        this.batchWriter = batchWriter;
+        this.admissionController = admissionController;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("qr.scan.ingest.queue.depth", queue, BlockingQueue::size)
+                .description("Scans waiting to be written to the database")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("qr.scan.ingest.dropped")
+                .description("Scans rejected because the ingestion queue was full")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("qr.scan.ingest.failed")
+                .description("Scans lost because their batch could not be written")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("qr.scan.ingest.written")
+                .description("Scans written to the database by the background flusher")
+                .register(meterRegistry);
+        this.bypassedCounter = Counter.builder("qr.scan.ingest.admission.bypassed")
+                .description("Scans written without an admission permit after waiting max-flush-delay-ms")
+                .register(meterRegistry);
+    }
+
+    public boolean offer(ScanEvent event) {
+        if (queue.offer(event)) {
+            return true;
+        }
+        droppedCounter.increment();
+        return false;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = new Thread(this::runFlushLoop, "qr-scan-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("QR scan ingestion buffer started (batchSize={}, flushIntervalMs={})", batchSize, flushIntervalMs);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<ScanEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        flush(remaining);
+        log.info("QR scan ingestion buffer stopped, drained {} pending scans", remaining.size());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop before the DataSource and JPA beans are torn down so the final drain can still write
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 1000;
+    }
+
+    private void runFlushLoop() {
+        List<ScanEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            boolean admitted = false;
+            try {
+                ScanEvent first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remainingNanos <= 0) {
+                        break;
+                    }
+                    ScanEvent next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                admitted = awaitAdmission();
+                if (!admitted) {
+                    bypassedCounter.increment(batch.size());
+                    log.warn("Scan writes not admitted for {} ms, writing batch of {} QR scans anyway", maxFlushDelayMs, batch.size());
+                }
+            } catch (InterruptedException e) {
+                // stop() drains whatever is still queued; only the in-flight batch is flushed here
+                Thread.currentThread().interrupt();
+                flush(batch);
+                return;
+            }
+            try {
+                flush(batch);
+            } finally {
+                if (admitted) {
+                    admissionController.release();
+                }
+            }
+            batch = new ArrayList<>(batchSize);
+        }
+        flush(batch);
+    }
+
+    // Holds the batch back while scan writes are not admitted, backing off exponentially. Bounded so
+    // the queue keeps draining and a scan reaches the database within the result cache's settle time,
+    // at the cost of one connection while the pool is saturated. Returns whether a permit was taken.
+    private boolean awaitAdmission() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxFlushDelayMs);
+        long backoffMs = MIN_ADMISSION_BACKOFF_MS;
+        while (!admissionController.tryAcquire()) {
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMs <= 0) {
+                return false;
+            }
+            Thread.sleep(Math.min(backoffMs, remainingMs));
+            backoffMs = Math.min(backoffMs * 2, MAX_ADMISSION_BACKOFF_MS);
+        }
+        return true;
+    }
+
+    private void flush(List<ScanEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            batchWriter.write(batch);
+            writtenCounter.increment(batch.size());
+        } catch (RuntimeException e) {
+            failedCounter.increment(batch.size());
+            log.error("Failed to write batch of {} QR scans", batch.size(), e);
+        }
+    }
+}
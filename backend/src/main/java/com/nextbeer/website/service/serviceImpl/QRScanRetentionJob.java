@@ -0,0 +1,116 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Keeps qr_scans to a fixed window of monthly partitions. Months past the retention window are
+ * first summed into qr_scan_daily and then dropped as whole partitions, and empty partitions are
+ * split off p_future ahead of time so new scans never land in the catch-all partition. Analytics
+ * counts come from qr_scan_hourly and are unaffected; qr_scan_daily is the archive of raw totals.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QRScanRetentionJob {
+
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p_'yyyyMM");
+    private static final DateTimeFormatter PARTITION_BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.analytics.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.analytics.retention.raw-months:12}")
+    private int rawMonths;
+
+    @Value("${app.analytics.retention.future-partitions:3}")
+    private int futurePartitions;
+
+    private record Partition(String name, LocalDateTime upperBound) {
+    }
+
+    @Scheduled(cron = "${app.analytics.retention.cron:0 30 3 * * *}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        List<Partition> partitions = loadPartitions();
+        if (partitions.isEmpty()) {
+            log.warn("qr_scans is not partitioned, skipping scan retention");
+            return;
+        }
+        LocalDateTime cutoff = YearMonth.now().minusMonths(rawMonths).atDay(1).atStartOfDay();
+        for (Partition partition : partitions) {
+            if (partition.upperBound() != null && !partition.upperBound().isAfter(cutoff)) {
+                expire(partition);
+            }
+        }
+        addFuturePartitions(partitions);
+    }
+
+    private List<Partition> loadPartitions() {
+        return jdbcTemplate.query(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'qr_scans' AND PARTITION_NAME IS NOT NULL " +
+                        "ORDER BY PARTITION_ORDINAL_POSITION",
+                (rs, rowNum) -> new Partition(rs.getString(1), parseBound(rs.getString(2))));
+    }
+
+    private void expire(Partition partition) {
+        // Each day lives in exactly one partition, so overwriting keeps a rerun after a failed drop idempotent
+        int days = jdbcTemplate.update(
+                "INSERT INTO qr_scan_daily (scan_day, scan_count) " +
+                        "SELECT CAST(scan_time AS DATE), COUNT(*) FROM qr_scans PARTITION (" + partition.name() + ") " +
+                        "GROUP BY CAST(scan_time AS DATE) " +
+                        "ON DUPLICATE KEY UPDATE scan_count = VALUES(scan_count)");
+        jdbcTemplate.execute("ALTER TABLE qr_scans DROP PARTITION " + partition.name());
+        log.info("Rolled partition {} into qr_scan_daily ({} day rows) and dropped it", partition.name(), days);
+    }
+
+    private void addFuturePartitions(List<Partition> partitions) {
+        LocalDateTime lastBound = partitions.stream()
+                .map(Partition::upperBound)
+                .filter(bound -> bound != null)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+        if (lastBound == null || !FUTURE_PARTITION.equals(partitions.get(partitions.size() - 1).name())) {
+            log.warn("qr_scans has no {} partition to split, skipping partition maintenance", FUTURE_PARTITION);
+            return;
+        }
+        LocalDate horizon = YearMonth.now().plusMonths(futurePartitions).atDay(1);
+        LocalDate month = lastBound.toLocalDate();
+        while (!month.isAfter(horizon)) {
+            LocalDate next = month.plusMonths(1);
+            // p_future is empty while it stays ahead of the clock, so the reorganise moves no rows
+            jdbcTemplate.execute("ALTER TABLE qr_scans REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO (" +
+                    "PARTITION " + PARTITION_NAME.format(month) + " VALUES LESS THAN ('" + next.atStartOfDay().format(PARTITION_BOUND) + "'), " +
+                    "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+            log.info("Added qr_scans partition {}", PARTITION_NAME.format(month));
+            month = next;
+        }
+    }
+
+    // PARTITION_DESCRIPTION is MAXVALUE or a quoted literal such as '2025-02-01 00:00:00'
+    private static LocalDateTime parseBound(String description) {
+        if (description == null || description.equalsIgnoreCase("MAXVALUE")) {
+            return null;
+        }
+        String literal = description.replace("'", "").trim();
+        return literal.length() == 10
+                ? LocalDate.parse(literal).atStartOfDay()
+                : LocalDateTime.parse(literal, PARTITION_BOUND);
+    }
+}
@@ -0,0 +1,59 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.nextbeer.website.model.QRSource;
+import com.nextbeer.website.repository.QRSourceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory code to id map for qr_sources. Codes are registered by admins only; scans resolve
+ * them without touching the database, and a code nobody registered is counted as no source, so
+ * anonymous scans can neither grow the table nor crowd out real codes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QRSourceDictionary {
+
+    private final QRSourceRepository sourceRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Integer> idsByCode = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (QRSource source : sourceRepository.findAll()) {
+            idsByCode.put(source.getCode(), source.getId());
+        }
+        log.info("Loaded {} QR source codes", idsByCode.size());
+    }
+
+    // Id for the code, or null when the scan should be counted without a source
+    public Integer resolve(String code) {
+        return code == null ? null : idsByCode.get(normalize(code));
+    }
+
+    public void register(String code) {
+        String normalized = normalize(code);
+        // INSERT IGNORE makes registering an existing code a no-op
+        jdbcTemplate.update("INSERT IGNORE INTO qr_sources (code) VALUES (?)", normalized);
+        Integer id = jdbcTemplate.queryForObject("SELECT id FROM qr_sources WHERE code = ?", Integer.class, normalized);
+        idsByCode.put(normalized, id);
+        log.info("QR source {} registered with id {}", normalized, id);
+    }
+
+    public List<String> codes() {
+        return idsByCode.keySet().stream().sorted().toList();
+    }
+
+    private static String normalize(String code) {
+        return code.trim().toLowerCase();
+    }
+}
@@ -1,8 +1,10 @@
 package com.nextbeer.website.service.serviceImpl;
 
 import com.nextbeer.website.dto.response.RestaurantResponseDto;
+import com.nextbeer.website.enums.CatalogChangeSource;
 import com.nextbeer.website.enums.ImageDirectory;
 import com.nextbeer.website.dto.request.RestaurantRequestDto;
+import com.nextbeer.website.event.CatalogChangedEvent;
 import com.nextbeer.website.exception.RestaurantAlreadyExistsException;
 import com.nextbeer.website.exception.RestaurantNotFoundException;
 import com.nextbeer.website.mapper.RestaurantMapper;
@@ -11,6 +13,7 @@ import com.nextbeer.website.repository.RestaurantRepository;
 import com.nextbeer.website.service.RestaurantService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +26,7 @@ public class RestaurantServiceImpl implements RestaurantService {
     private final RestaurantMapper mapper;
     private final RestaurantRepository restaurantRepository;
     private final FileStorageService fileStorageService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -45,6 +49,7 @@ public class RestaurantServiceImpl implements RestaurantService {
         restaurant.setWebsiteImageUrl(imageUrl);
         Restaurant savedRestaurant = restaurantRepository.save(restaurant);
         log.info("restaurant details added successfully to db with name : " + savedRestaurant.getName());
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangeSource.RESTAURANT));
         return mapper.toDto(savedRestaurant);
     }
 
@@ -67,6 +72,7 @@ public class RestaurantServiceImpl implements RestaurantService {
         restaurant.setWebsiteImageUrl(imageUrl);
         Restaurant updatedRestaurant = restaurantRepository.save(mapper.updateEntity(restaurant, requestDto));
         log.info("restaurant details successfully updated: " + updatedRestaurant.getName());
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangeSource.RESTAURANT));
         return mapper.toDto(updatedRestaurant);
     }
 
@@ -0,0 +1,97 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Decides whether scan ingestion may use a database connection right now. Every scan write holds
+ * one of a fixed number of permits, the share of the pool scans may use, so a burst of request
+ * threads cannot all pass the check at once and exhaust the pool. Writes are also refused while
+ * threads queue for a Hikari connection or the active connections reach that share, so catalog
+ * reads keep their connections.
+ */
+@Slf4j
+@Component
+public class ScanAdmissionController {
+
+    private final HikariDataSource hikariDataSource;
+    private final Counter shedCounter;
+    private final Semaphore scanWritePermits;
+
+    @Value("${app.analytics.admission.enabled:true}")
+    private boolean enabled;
+
+    private final int maxActiveConnections;
+
+    @Value("${app.analytics.admission.max-pending-connections:0}")
+    private int maxPendingConnections;
+
+    public ScanAdmissionController(DataSource dataSource,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.analytics.admission.max-active-connections:6}") int maxActiveConnections) {
+        this.hikariDataSource = unwrapHikari(dataSource);
+        this.maxActiveConnections = maxActiveConnections;
+        this.scanWritePermits = new Semaphore(maxActiveConnections);
+        this.shedCounter = Counter.builder("qr.scan.admission.shed")
+                .description("Scans kept off the database because the connection pool was saturated")
+                .register(meterRegistry);
+    }
+
+    // Every successful call must be paired with release() once the write is done
+    public boolean tryAcquire() {
+        if (!enabled) {
+            return true;
+        }
+        if (!scanWritePermits.tryAcquire()) {
+            return false;
+        }
+        if (isSaturated()) {
+            scanWritePermits.release();
+            return false;
+        }
+        return true;
+    }
+
+    public void release() {
+        if (enabled) {
+            scanWritePermits.release();
+        }
+    }
+
+    private boolean isSaturated() {
+        if (hikariDataSource == null) {
+            return false;
+        }
+        // The pool is created lazily; until then nothing can be saturated
+        HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return false;
+        }
+        return pool.getThreadsAwaitingConnection() > maxPendingConnections
+                || pool.getActiveConnections() >= maxActiveConnections;
+    }
+
+    public void recordShed() {
+        shedCounter.increment();
+    }
+
+    private static HikariDataSource unwrapHikari(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class);
+            }
+        } catch (SQLException e) {
+            log.warn("Could not unwrap the connection pool, scan admission control is disabled", e);
+        }
+        return null;
+    }
+}
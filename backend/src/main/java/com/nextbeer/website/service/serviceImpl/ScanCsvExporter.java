@@ -0,0 +1,75 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.nextbeer.website.config.appConfig.JdbcConfig;
+import com.nextbeer.website.model.DateRange;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes raw scans for a range as CSV straight from a forward-only JDBC result set, so memory use
+ * does not depend on how many rows are exported. Nothing passes through the persistence context.
+ * An export holds a pooled connection for as long as the client keeps reading, so only a few may
+ * run at once and the rest are turned away rather than starving scan ingestion.
+ */
+@Component
+public class ScanCsvExporter {
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final Semaphore exportPermits;
+
+    public ScanCsvExporter(@Qualifier(JdbcConfig.STREAMING) JdbcTemplate streamingJdbcTemplate,
+                           @Value("${app.analytics.export.max-concurrent:2}") int maxConcurrentExports) {
+        this.streamingJdbcTemplate = streamingJdbcTemplate;
+        this.exportPermits = new Semaphore(maxConcurrentExports);
+    }
+
+    // Every successful call must be paired with release() once the export has finished
+    public boolean tryAcquire() {
+        return exportPermits.tryAcquire();
+    }
+
+    public void release() {
+        exportPermits.release();
+    }
+
+    public void export(DateRange range, OutputStream outputStream, boolean gzip) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(outputStream, 64 * 1024) : outputStream;
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write("id,scan_time\n");
+        try {
+            streamingJdbcTemplate.query(
+                    "SELECT id, scan_time FROM qr_scans WHERE scan_time >= ? AND scan_time < ? ORDER BY scan_time",
+                    rs -> {
+                        try {
+                            writer.write(Long.toString(rs.getLong(1)));
+                            writer.write(',');
+                            writer.write(rs.getTimestamp(2).toLocalDateTime().toString());
+                            writer.write('\n');
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    },
+                    Timestamp.valueOf(range.startDate()),
+                    Timestamp.valueOf(range.endDate()));
+        } catch (UncheckedIOException e) {
+            // The client went away; stop reading rows
+            throw e.getCause();
+        }
+        writer.flush();
+        if (gzip) {
+            ((GZIPOutputStream) target).finish();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Suppresses repeat scans from the same client and source within a short window. Two Bloom
+ * filters rotate every window: a fingerprint seen in either is a duplicate, and new ones go into
+ * the current filter, so a repeat is suppressed for between one and two windows. Memory is fixed
+ * by the expected scans per window and the false-positive rate, which is also the share of
+ * genuine first scans that get suppressed by mistake. The client is the salted IP and User-Agent
+ * visitor key, so guests behind one NAT on the same browser build count as one client: their
+ * scans of the same source within the window collapse into one, which undercounts busy venues
+ * on shared Wi-Fi. Keep the window short for that reason.
+ */
+@Component
+public class ScanDeduplicator {
+
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int bitCount;
+    private final int hashCount;
+    private final Counter suppressedCounter;
+    private final LongSupplier nanoClock;
+
+    private volatile Generation generation;
+
+    private record Generation(long startedAt, AtomicLongArray current, AtomicLongArray previous) {
+    }
+
+    @Autowired
+    public ScanDeduplicator(MeterRegistry meterRegistry,
+                            @Value("${app.analytics.dedup.enabled:true}") boolean enabled,
+                            @Value("${app.analytics.dedup.window-seconds:30}") long windowSeconds,
+                            @Value("${app.analytics.dedup.expected-scans-per-window:10000}") int expectedScans,
+                            @Value("${app.analytics.dedup.false-positive-rate:0.001}") double falsePositiveRate) {
+        this(meterRegistry, enabled, windowSeconds, expectedScans, falsePositiveRate, System::nanoTime);
+    }
+
+    // Tests drive the window rotation through the clock
+    ScanDeduplicator(MeterRegistry meterRegistry, boolean enabled, long windowSeconds, int expectedScans,
+                     double falsePositiveRate, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.enabled = enabled;
+        this.windowNanos = windowSeconds * 1_000_000_000L;
+        // Standard Bloom sizing: m = -n ln p / (ln 2)^2 bits and k = (m / n) ln 2 hashes
+        this.bitCount = (int) Math.ceil(-expectedScans * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedScans * Math.log(2)));
+        this.suppressedCounter = Counter.builder("qr.scan.dedup.suppressed")
+                .description("Scans dropped as repeats from the same client within the dedup window")
+                .register(meterRegistry);
+        this.generation = new Generation(nanoClock.getAsLong(), newFilter(), newFilter());
+    }
+
+    // Records the fingerprint and reports whether it was already seen in the window
+    public boolean isDuplicate(long visitorHash, Integer sourceId) {
+        if (!enabled || visitorHash == 0) {
+            return false;
+        }
+        Generation active = rotateIfDue();
+        long fingerprint = mix(visitorHash * 31 + (sourceId == null ? 0 : sourceId));
+        int h1 = (int) fingerprint;
+        int h2 = (int) (fingerprint >>> 32);
+
+        boolean seen = true;
+        boolean seenBefore = true;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            seen &= setBit(active.current(), bit);
+            seenBefore &= isSet(active.previous(), bit);
+        }
+        if (seen || seenBefore) {
+            suppressedCounter.increment();
+            return true;
+        }
+        return false;
+    }
+
+    private Generation rotateIfDue() {
+        Generation active = generation;
+        long now = nanoClock.getAsLong();
+        if (now - active.startedAt() < windowNanos) {
+            return active;
+        }
+        synchronized (this) {
+            active = generation;
+            if (now - active.startedAt() >= windowNanos) {
+                // After a long idle gap the current filter is also stale, so both start empty
+                AtomicLongArray previous = now - active.startedAt() < 2 * windowNanos ? active.current() : newFilter();
+                active = new Generation(now, newFilter(), previous);
+                generation = active;
+            }
+            return active;
+        }
+    }
+
+    private AtomicLongArray newFilter() {
+        return new AtomicLongArray((bitCount + 63) >>> 6);
+    }
+
+    // Sets the bit and returns whether it was already set
+    private static boolean setBit(AtomicLongArray filter, int bit) {
+        long mask = 1L << bit;
+        int word = bit >>> 6;
+        long value;
+        do {
+            value = filter.get(word);
+            if ((value & mask) != 0) {
+                return true;
+            }
+        } while (!filter.compareAndSet(word, value, value | mask));
+        return false;
+    }
+
+    private static boolean isSet(AtomicLongArray filter, int bit) {
+        return (filter.get(bit >>> 6) & (1L << bit)) != 0;
+    }
+
+    // MurmurHash3 finalizer, spreads the combined key over all 64 bits
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
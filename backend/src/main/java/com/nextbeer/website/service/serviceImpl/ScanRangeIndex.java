@@ -0,0 +1,230 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.nextbeer.website.model.QRScanHourly;
+import com.nextbeer.website.model.ScanEvent;
+import com.nextbeer.website.repository.QRScanHourlyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prefix-sum (Fenwick) index over the per-hour scan counts of the hourly rollup, so the total for
+ * any hour-aligned range is two O(log n) prefix sums instead of a SUM over qr_scan_hourly. It is
+ * loaded once at startup, follows every committed batch, and a scheduled check compares recent
+ * closed hours with the rollup and repairs any drift. Batches committed while it loads are held
+ * back and replayed once it is, minus those the loaded rollup already counted.
+ */
+@Slf4j
+@Component
+public class ScanRangeIndex {
+
+    private static final int MIN_CAPACITY = 1 << 14;
+
+    private final QRScanHourlyRepository hourlyRepository;
+    private final Counter driftCounter;
+
+    @Value("${app.analytics.range-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.analytics.range-index.check-window-hours:48}")
+    private int checkWindowHours;
+
+    private volatile boolean ready;
+    // Epoch hour stored at position 0; counts keeps the plain values so the tree can be regrown
+    private long originHour;
+    private long[] counts = new long[0];
+    private long[] tree = new long[1];
+    // Scans per epoch hour from batches that arrived before the index was ready
+    private Map<Long, Long> pendingByHour = new HashMap<>();
+
+    public ScanRangeIndex(QRScanHourlyRepository hourlyRepository, MeterRegistry meterRegistry) {
+        this.hourlyRepository = hourlyRepository;
+        this.driftCounter = Counter.builder("qr.scan.range-index.drift")
+                .description("Hourly buckets the consistency check had to correct from the rollup")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        List<QRScanHourly> buckets = hourlyRepository.findAll(Sort.by("bucketStart"));
+        synchronized (this) {
+            long now = epochHour(LocalDateTime.now());
+            originHour = buckets.isEmpty() ? now : Math.min(now, epochHour(buckets.get(0).getBucketStart()));
+            counts = new long[capacityFor(now - originHour + 1)];
+            for (QRScanHourly bucket : buckets) {
+                counts[(int) (epochHour(bucket.getBucketStart()) - originHour)] += bucket.getScanCount();
+            }
+            rebuildTree();
+        }
+        replayPending();
+        log.info("Scan range index loaded {} hourly buckets", buckets.size());
+    }
+
+    // Called after the batch's transaction has committed, mirroring the rollup upsert
+    public void add(List<ScanEvent> events) {
+        if (!enabled) {
+            return;
+        }
+        Map<Long, Long> countsByHour = new HashMap<>();
+        for (ScanEvent event : events) {
+            countsByHour.merge(epochHour(event.scanTime()), 1L, Long::sum);
+        }
+        synchronized (this) {
+            if (!ready) {
+                countsByHour.forEach((hour, delta) -> pendingByHour.merge(hour, delta, Long::sum));
+                return;
+            }
+            countsByHour.forEach((hour, delta) -> update(position(hour), delta));
+        }
+    }
+
+    // Scans in [start, end); both ends are taken to the start of their hour
+    public synchronized long total(LocalDateTime start, LocalDateTime end) {
+        long from = Math.max(epochHour(start) - originHour, 0);
+        long to = Math.min(epochHour(end) - originHour, counts.length);
+        return to <= from ? 0 : prefixSum((int) to) - prefixSum((int) from);
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.range-index.check-interval-ms:600000}",
+            initialDelayString = "${app.analytics.range-index.check-interval-ms:600000}")
+    public void checkConsistency() {
+        if (!ready) {
+            return;
+        }
+        // Hours that closed a few minutes ago can no longer receive buffered scans
+        LocalDateTime to = LocalDateTime.now().minusMinutes(5).truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime from = to.minusHours(checkWindowHours);
+        Map<Long, Long> persisted = new HashMap<>();
+        for (Object[] row : hourlyRepository.getBuckets(from, to)) {
+            persisted.put(epochHour((LocalDateTime) row[0]), ((Number) row[1]).longValue());
+        }
+        int corrected = 0;
+        synchronized (this) {
+            for (long hour = epochHour(from); hour < epochHour(to); hour++) {
+                int position = position(hour);
+                long delta = persisted.getOrDefault(hour, 0L) - counts[position];
+                if (delta != 0) {
+                    update(position, delta);
+                    corrected++;
+                }
+            }
+        }
+        if (corrected > 0) {
+            driftCounter.increment(corrected);
+            log.warn("Scan range index drifted from qr_scan_hourly in {} hourly buckets since {}, corrected", corrected, from);
+        }
+    }
+
+    /*
+     * A held-back batch may or may not be in the rows load() read, depending on when it committed.
+     * Each pending hour gets at most as many scans as the rollup now holds beyond the index, so
+     * none is counted twice; batches arriving during the re-read are held for the next round.
+     */
+    private void replayPending() {
+        while (true) {
+            Map<Long, Long> replay;
+            synchronized (this) {
+                if (pendingByHour.isEmpty()) {
+                    ready = true;
+                    return;
+                }
+                replay = pendingByHour;
+                pendingByHour = new HashMap<>();
+            }
+            long firstHour = replay.keySet().stream().min(Long::compare).orElseThrow();
+            long lastHour = replay.keySet().stream().max(Long::compare).orElseThrow();
+            Map<Long, Long> persisted = new HashMap<>();
+            for (Object[] row : hourlyRepository.getBuckets(startOfHour(firstHour), startOfHour(lastHour + 1))) {
+                persisted.put(epochHour((LocalDateTime) row[0]), ((Number) row[1]).longValue());
+            }
+            synchronized (this) {
+                replay.forEach((hour, pending) -> {
+                    int position = position(hour);
+                    long missing = persisted.getOrDefault(hour, 0L) - counts[position];
+                    if (missing > 0) {
+                        update(position, Math.min(pending, missing));
+                    }
+                });
+            }
+        }
+    }
+
+    // Position of the hour in the index, growing the index when the hour falls outside it
+    private int position(long hour) {
+        if (hour < originHour || hour - originHour >= counts.length) {
+            long newOrigin = Math.min(originHour, hour);
+            long span = Math.max(originHour + counts.length, hour + 1) - newOrigin;
+            long[] grown = new long[capacityFor(span)];
+            System.arraycopy(counts, 0, grown, (int) (originHour - newOrigin), counts.length);
+            originHour = newOrigin;
+            counts = grown;
+            rebuildTree();
+        }
+        return (int) (hour - originHour);
+    }
+
+    private void update(int position, long delta) {
+        counts[position] += delta;
+        for (int i = position + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    // Sum of counts[0, length)
+    private long prefixSum(int length) {
+        long sum = 0;
+        for (int i = length; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    // Linear-time construction: each node pushes its partial sum to its parent
+    private void rebuildTree() {
+        tree = new long[counts.length + 1];
+        for (int i = 1; i <= counts.length; i++) {
+            tree[i] += counts[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= counts.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    // Doubles past the needed span so hourly growth does not rebuild the tree every hour
+    private static int capacityFor(long span) {
+        long capacity = MIN_CAPACITY;
+        while (capacity < span * 2) {
+            capacity <<= 1;
+        }
+        return Math.toIntExact(capacity);
+    }
+
+    private static long epochHour(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 3600;
+    }
+
+    private static LocalDateTime startOfHour(long epochHour) {
+        return LocalDateTime.ofEpochSecond(epochHour * 3600, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,490 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.nextbeer.website.config.appConfig.JdbcConfig;
+import com.nextbeer.website.model.ScanEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Append-only scan store on local disk. Each day is one segment file holding the scans as a
+ * sorted array of 4-byte seconds-of-day; closed days are memory-mapped once and bucket counts
+ * are answered with two binary searches per bucket instead of a GROUP BY over qr_scans.
+ * The store is rebuilt from qr_scans when its directory has never been populated or a write
+ * failed; otherwise the most recent segment days are checked against qr_scans on startup and
+ * rewritten from it when they differ. Scans that arrive before the store is open are held back
+ * and replayed once it is, minus those the rebuild already read.
+ */
+@Slf4j
+@Component
+public class ScanSegmentStore {
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String BUILT_MARKER = ".built";
+    private static final int CHUNK_SIZE = 10_000;
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final Map<LocalDate, IntBuffer> closedSegments = new ConcurrentHashMap<>();
+    private final Queue<ScanEvent> pendingUntilOpen = new ConcurrentLinkedQueue<>();
+
+    @Value("${app.analytics.segments.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.analytics.segments.dir:/app/data/scan-segments}")
+    private String segmentDir;
+
+    private volatile boolean ready;
+    private volatile boolean failed;
+    private Path directory;
+    private LocalDate activeDay;
+    private FileChannel activeChannel;
+    private int lastSecondOfDay;
+    private boolean unsynced;
+
+    public ScanSegmentStore(@Qualifier(JdbcConfig.STREAMING) JdbcTemplate streamingJdbcTemplate) {
+        this.streamingJdbcTemplate = streamingJdbcTemplate;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void open() {
+        if (!enabled) {
+            return;
+        }
+        directory = Paths.get(segmentDir);
+        try {
+            Files.createDirectories(directory);
+            boolean built = Files.exists(directory.resolve(BUILT_MARKER));
+            LocalDateTime syncedUpTo = built ? reconcileRecentDays() : rebuildFromDatabase();
+            synchronized (this) {
+                replayPending(syncedUpTo);
+                if (!built) {
+                    Files.createFile(directory.resolve(BUILT_MARKER));
+                }
+                ready = true;
+            }
+            log.info("Scan segment store opened at {}", directory);
+        } catch (IOException | RuntimeException e) {
+            pendingUntilOpen.clear();
+            markFailed();
+            log.error("Scan segment store unavailable, analytics will use SQL: {}", e.getMessage());
+        }
+    }
+
+    // Events reach the store only after their database transaction has committed
+    public synchronized void append(List<ScanEvent> events) {
+        if (!enabled || failed) {
+            return;
+        }
+        if (!ready) {
+            pendingUntilOpen.addAll(events);
+            return;
+        }
+        try {
+            appendSorted(events);
+        } catch (IOException e) {
+            markFailed();
+            log.error("Scan segment store write failed, falling back to SQL until restart", e);
+        }
+    }
+
+    // Appends are only forced to disk here, so a request thread never waits on an fsync;
+    // whatever a crash loses is restored from qr_scans by the startup check
+    @Scheduled(fixedDelayString = "${app.analytics.segments.sync-interval-ms:1000}")
+    public synchronized void sync() {
+        if (!unsynced || activeChannel == null) {
+            return;
+        }
+        try {
+            activeChannel.force(false);
+            unsynced = false;
+        } catch (IOException e) {
+            markFailed();
+            log.error("Scan segment store sync failed, falling back to SQL until restart", e);
+        }
+    }
+
+    // Scans in each [boundaries[i], boundaries[i + 1]) bucket
+    public long[] countBuckets(List<LocalDateTime> boundaries) {
+        long[] counts = new long[boundaries.size() - 1];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = count(boundaries.get(i), boundaries.get(i + 1));
+        }
+        return counts;
+    }
+
+    public long count(LocalDateTime start, LocalDateTime end) {
+        long total = 0;
+        LocalDate lastDay = end.minusNanos(1).toLocalDate();
+        // Yesterday can still take late scans around midnight, and today always does
+        LocalDate stillWritable = LocalDate.now().minusDays(1);
+        for (LocalDate day = start.toLocalDate(); !day.isAfter(lastDay); day = day.plusDays(1)) {
+            if (day.isBefore(stillWritable)) {
+                total += countDay(day, start, end);
+            } else {
+                synchronized (this) {
+                    total += countDay(day, start, end);
+                }
+            }
+        }
+        return total;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        sync();
+        closeActiveChannel();
+    }
+
+    private long countDay(LocalDate day, LocalDateTime start, LocalDateTime end) {
+        IntBuffer segment = segment(day);
+        if (segment == null) {
+            return 0;
+        }
+        int from = day.equals(start.toLocalDate()) ? lowerBound(segment, start.toLocalTime().toSecondOfDay()) : 0;
+        int to = day.equals(end.toLocalDate()) ? lowerBound(segment, end.toLocalTime().toSecondOfDay()) : segment.limit();
+        return Math.max(0, to - from);
+    }
+
+    // The store is no longer trusted, so the next start rebuilds it from qr_scans
+    private void markFailed() {
+        ready = false;
+        failed = true;
+        try {
+            Files.deleteIfExists(directory.resolve(BUILT_MARKER));
+        } catch (IOException e) {
+            log.warn("Could not remove the scan segment store marker: {}", e.getMessage());
+        }
+    }
+
+    // Returns the cutoff: every scan before it is now on disk
+    private LocalDateTime rebuildFromDatabase() throws IOException {
+        LocalDateTime cutoff = LocalDateTime.now();
+        log.info("Building scan segment store from qr_scans up to {}", cutoff);
+        // Leftovers from an interrupted rebuild would be counted twice
+        try (var leftovers = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX + "*")) {
+            for (Path leftover : leftovers) {
+                Files.delete(leftover);
+            }
+        }
+        List<ScanEvent> chunk = new ArrayList<>(CHUNK_SIZE);
+        IOException[] failure = new IOException[1];
+        streamingJdbcTemplate.query(
+                "SELECT scan_time FROM qr_scans WHERE scan_time < ? ORDER BY scan_time",
+                (RowCallbackHandler) rs -> {
+                    if (failure[0] != null) {
+                        return;
+                    }
+                    chunk.add(new ScanEvent(rs.getTimestamp(1).toLocalDateTime()));
+                    if (chunk.size() == CHUNK_SIZE) {
+                        try {
+                            appendSorted(chunk);
+                        } catch (IOException e) {
+                            failure[0] = e;
+                        }
+                        chunk.clear();
+                    }
+                },
+                Timestamp.valueOf(cutoff));
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        synchronized (this) {
+            appendSorted(chunk);
+            sync();
+        }
+        return cutoff;
+    }
+
+    // A crash between a batch commit and its append, or an unsynced tail, leaves the newest days short;
+    // any day from the last segment on whose length differs from qr_scans is rewritten from it
+    private LocalDateTime reconcileRecentDays() throws IOException {
+        LocalDateTime cutoff = LocalDateTime.now();
+        LocalDate today = cutoff.toLocalDate();
+        LocalDate firstDay = lastSegmentDay();
+        if (firstDay == null || firstDay.isAfter(today)) {
+            firstDay = today;
+        }
+        Map<LocalDate, Long> scansByDay = new HashMap<>();
+        streamingJdbcTemplate.query(
+                "SELECT DATE(scan_time), COUNT(*) FROM qr_scans WHERE scan_time >= ? AND scan_time < ? GROUP BY DATE(scan_time)",
+                (RowCallbackHandler) rs -> scansByDay.put(rs.getDate(1).toLocalDate(), rs.getLong(2)),
+                Timestamp.valueOf(firstDay.atStartOfDay()), Timestamp.valueOf(cutoff));
+        for (LocalDate day = firstDay; !day.isAfter(today); day = day.plusDays(1)) {
+            long expected = scansByDay.getOrDefault(day, 0L);
+            long stored = Files.exists(segmentFile(day)) ? Files.size(segmentFile(day)) / Integer.BYTES : 0;
+            if (stored != expected) {
+                log.warn("Scan segment {} holds {} scans but qr_scans has {}, rewriting it", day, stored, expected);
+                rewriteDay(day, cutoff);
+            }
+        }
+        return cutoff;
+    }
+
+    private LocalDate lastSegmentDay() throws IOException {
+        LocalDate last = null;
+        try (var segments = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path segment : segments) {
+                String name = segment.getFileName().toString();
+                LocalDate day = LocalDate.parse(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                if (last == null || day.isAfter(last)) {
+                    last = day;
+                }
+            }
+        }
+        return last;
+    }
+
+    // Written aside and moved into place, so the old segment stays whole until the new one is
+    private void rewriteDay(LocalDate day, LocalDateTime cutoff) throws IOException {
+        LocalDateTime end = day.plusDays(1).atStartOfDay();
+        Path temp = directory.resolve(day + SEGMENT_SUFFIX + TEMP_SUFFIX);
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE * Integer.BYTES);
+            IOException[] failure = new IOException[1];
+            streamingJdbcTemplate.query(
+                    "SELECT scan_time FROM qr_scans WHERE scan_time >= ? AND scan_time < ? ORDER BY scan_time",
+                    (RowCallbackHandler) rs -> {
+                        if (failure[0] != null) {
+                            return;
+                        }
+                        buffer.putInt(rs.getTimestamp(1).toLocalDateTime().toLocalTime().toSecondOfDay());
+                        if (!buffer.hasRemaining()) {
+                            try {
+                                drain(buffer, out);
+                            } catch (IOException e) {
+                                failure[0] = e;
+                            }
+                        }
+                    },
+                    Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(end.isBefore(cutoff) ? end : cutoff));
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            drain(buffer, out);
+            out.force(false);
+        }
+        Files.move(temp, segmentFile(day), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        closedSegments.remove(day);
+    }
+
+    // Scans logged while the store was opening. Any of them may have committed after the rebuild or
+    // reconcile read its snapshot, whatever its timestamp, so those before the cutoff are matched per
+    // second against how far qr_scans is now ahead of the segment; only the difference is appended
+    private void replayPending(LocalDateTime syncedUpTo) throws IOException {
+        List<ScanEvent> replay = new ArrayList<>();
+        TreeMap<LocalDateTime, Integer> pendingBySecond = new TreeMap<>();
+        ScanEvent event;
+        while ((event = pendingUntilOpen.poll()) != null) {
+            if (event.scanTime().isBefore(syncedUpTo)) {
+                pendingBySecond.merge(event.scanTime().truncatedTo(ChronoUnit.SECONDS), 1, Integer::sum);
+            } else {
+                replay.add(event);
+            }
+        }
+        if (!pendingBySecond.isEmpty()) {
+            Map<LocalDateTime, Long> persistedBySecond = new HashMap<>();
+            streamingJdbcTemplate.query(
+                    "SELECT scan_time, COUNT(*) FROM qr_scans WHERE scan_time >= ? AND scan_time < ? GROUP BY scan_time",
+                    (RowCallbackHandler) rs -> persistedBySecond.merge(
+                            rs.getTimestamp(1).toLocalDateTime().truncatedTo(ChronoUnit.SECONDS), rs.getLong(2), Long::sum),
+                    Timestamp.valueOf(pendingBySecond.firstKey()), Timestamp.valueOf(syncedUpTo));
+            for (Map.Entry<LocalDateTime, Integer> pending : pendingBySecond.entrySet()) {
+                LocalDateTime second = pending.getKey();
+                long missing = persistedBySecond.getOrDefault(second, 0L) - countSecond(second);
+                for (long i = Math.min(pending.getValue(), missing); i > 0; i--) {
+                    replay.add(new ScanEvent(second));
+                }
+            }
+        }
+        appendSorted(replay);
+    }
+
+    private long countSecond(LocalDateTime second) {
+        IntBuffer segment = segment(second.toLocalDate());
+        if (segment == null) {
+            return 0;
+        }
+        int secondOfDay = second.toLocalTime().toSecondOfDay();
+        return lowerBound(segment, secondOfDay + 1) - lowerBound(segment, secondOfDay);
+    }
+
+    private void appendSorted(List<ScanEvent> events) throws IOException {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<ScanEvent> sorted = new ArrayList<>(events);
+        sorted.sort((a, b) -> a.scanTime().compareTo(b.scanTime()));
+        int from = 0;
+        while (from < sorted.size()) {
+            LocalDate day = sorted.get(from).scanTime().toLocalDate();
+            int to = from;
+            while (to < sorted.size() && sorted.get(to).scanTime().toLocalDate().equals(day)) {
+                to++;
+            }
+            int[] seconds = new int[to - from];
+            for (int i = from; i < to; i++) {
+                seconds[i - from] = sorted.get(i).scanTime().toLocalTime().toSecondOfDay();
+            }
+            appendDay(day, seconds);
+            from = to;
+        }
+        unsynced = true;
+    }
+
+    private void appendDay(LocalDate day, int[] seconds) throws IOException {
+        if (!day.equals(activeDay)) {
+            switchActiveDay(day);
+        }
+        long stored = activeChannel.size() / Integer.BYTES;
+        if (stored == 0 || seconds[0] >= lastSecondOfDay) {
+            write(seconds, stored);
+        } else {
+            mergeIntoTail(seconds, stored);
+        }
+        lastSecondOfDay = Math.max(lastSecondOfDay, seconds[seconds.length - 1]);
+        // A late scan can land on a day that was already mapped
+        closedSegments.remove(day);
+    }
+
+    // Late scans (interleaved DIRECT and buffered writes) are merged into the tail they belong to,
+    // rewriting only the part of the segment from their first second onwards
+    private void mergeIntoTail(int[] seconds, long stored) throws IOException {
+        IntBuffer existing = activeChannel.map(FileChannel.MapMode.READ_ONLY, 0, stored * Integer.BYTES).asIntBuffer();
+        int tailStart = lowerBound(existing, seconds[0]);
+        int[] tail = new int[(int) stored - tailStart];
+        existing.get(tailStart, tail);
+        int[] merged = new int[tail.length + seconds.length];
+        for (int i = 0, t = 0, s = 0; i < merged.length; i++) {
+            merged[i] = s == seconds.length || (t < tail.length && tail[t] <= seconds[s]) ? tail[t++] : seconds[s++];
+        }
+        write(merged, tailStart);
+    }
+
+    private void write(int[] seconds, long index) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(seconds.length * Integer.BYTES);
+        buffer.asIntBuffer().put(seconds);
+        long position = index * Integer.BYTES;
+        while (buffer.hasRemaining()) {
+            position += activeChannel.write(buffer, position);
+        }
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void switchActiveDay(LocalDate day) throws IOException {
+        if (unsynced && activeChannel != null) {
+            activeChannel.force(false);
+        }
+        closeActiveChannel();
+        Path file = segmentFile(day);
+        activeChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        activeDay = day;
+        lastSecondOfDay = 0;
+        long size = activeChannel.size();
+        // A torn write from a crash leaves a partial value at the end
+        if (size % Integer.BYTES != 0) {
+            size -= size % Integer.BYTES;
+            activeChannel.truncate(size);
+        }
+        if (size >= Integer.BYTES) {
+            ByteBuffer last = ByteBuffer.allocate(Integer.BYTES);
+            activeChannel.read(last, size - Integer.BYTES);
+            lastSecondOfDay = last.flip().getInt();
+        }
+        closedSegments.remove(day);
+    }
+
+    private void closeActiveChannel() {
+        if (activeChannel == null) {
+            return;
+        }
+        try {
+            activeChannel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close scan segment for {}", activeDay, e);
+        }
+        activeChannel = null;
+        activeDay = null;
+    }
+
+    private IntBuffer segment(LocalDate day) {
+        IntBuffer cached = closedSegments.get(day);
+        if (cached != null) {
+            return cached;
+        }
+        Path file = segmentFile(day);
+        if (Files.notExists(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size() - channel.size() % Integer.BYTES;
+            IntBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).asIntBuffer();
+            // Yesterday and today can still take appends, so only older days keep their mapping
+            if (day.isBefore(LocalDate.now().minusDays(1))) {
+                closedSegments.put(day, segment);
+            }
+            return segment;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read scan segment " + file, e);
+        }
+    }
+
+    private Path segmentFile(LocalDate day) {
+        return directory.resolve(day + SEGMENT_SUFFIX);
+    }
+
+    // First index whose value is >= key
+    private static int lowerBound(IntBuffer segment, int key) {
+        int low = 0;
+        int high = segment.limit();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (segment.get(mid) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,170 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.nextbeer.website.dto.response.TimeBucketData;
+import com.nextbeer.website.enums.TimeGranularity;
+import com.nextbeer.website.exception.InvalidDateRangeException;
+import com.nextbeer.website.exception.InvalidGranularityException;
+import com.nextbeer.website.model.DateRange;
+import com.nextbeer.website.repository.QRScanHourlyRepository;
+import com.nextbeer.website.repository.QRScanRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds zero-filled scan series for any range and granularity. Each query is answered from the
+ * coarsest stored resolution that can: hour and coarser buckets are grouped inside MySQL over the
+ * hourly rollup, so a year at monthly granularity returns twelve rows; minute and quarter-hour
+ * buckets come from the segment store, or from raw qr_scans when the store is not available.
+ * Several ranges can be compared at once; they share a single read of the rollup.
+ */
+@Component
+@RequiredArgsConstructor
+public class TimeBucketEngine {
+
+    private static final int MAX_BUCKETS = 10_000;
+
+    private final QRScanHourlyRepository hourlyRepository;
+    private final QRScanRepository scanRepository;
+    private final ScanSegmentStore segmentStore;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
+    public List<TimeBucketData> series(DateRange range, TimeGranularity granularity) {
+        List<LocalDateTime> bucketStarts = bucketStarts(range, granularity);
+        if (bucketStarts.isEmpty()) {
+            return List.of();
+        }
+        Map<LocalDateTime, Long> counts = granularity.isSubHourly()
+                ? subHourlyCounts(range, granularity, bucketStarts)
+                : rollupCounts(range, granularity);
+
+        List<TimeBucketData> series = new ArrayList<>(bucketStarts.size());
+        for (LocalDateTime bucketStart : bucketStarts) {
+            series.add(new TimeBucketData(bucketStart, counts.getOrDefault(bucketStart, 0L)));
+        }
+        return series;
+    }
+
+    // One zero-filled series per range, all folded from one query over the union of the ranges
+    public List<List<TimeBucketData>> compare(List<DateRange> ranges, TimeGranularity granularity) {
+        if (granularity.isSubHourly()) {
+            throw new InvalidGranularityException("Range comparisons support HOUR granularity or coarser, not " + granularity);
+        }
+        List<List<LocalDateTime>> bucketStarts = new ArrayList<>(ranges.size());
+        List<Map<LocalDateTime, Integer>> bucketIndexes = new ArrayList<>(ranges.size());
+        List<long[]> counts = new ArrayList<>(ranges.size());
+        StringBuilder sql = new StringBuilder("SELECT bucket_start, scan_count FROM qr_scan_hourly WHERE ");
+        Object[] args = new Object[ranges.size() * 2];
+        for (int i = 0; i < ranges.size(); i++) {
+            DateRange range = ranges.get(i);
+            List<LocalDateTime> starts = bucketStarts(range, granularity);
+            Map<LocalDateTime, Integer> index = new HashMap<>();
+            for (int bucket = 0; bucket < starts.size(); bucket++) {
+                index.put(starts.get(bucket), bucket);
+            }
+            bucketStarts.add(starts);
+            bucketIndexes.add(index);
+            counts.add(new long[starts.size()]);
+            sql.append(i == 0 ? "" : " OR ").append("(bucket_start >= ? AND bucket_start < ?)");
+            args[i * 2] = Timestamp.valueOf(range.startDate());
+            args[i * 2 + 1] = Timestamp.valueOf(range.endDate());
+        }
+
+        jdbcTemplate.query(sql.toString(), rs -> {
+            LocalDateTime hour = rs.getTimestamp(1).toLocalDateTime();
+            long scans = rs.getLong(2);
+            LocalDateTime bucketStart = granularity.floor(hour);
+            // Ranges may overlap, so one rollup row can count towards several of them
+            for (int i = 0; i < ranges.size(); i++) {
+                if (ranges.get(i).contains(hour)) {
+                    counts.get(i)[bucketIndexes.get(i).get(bucketStart)] += scans;
+                }
+            }
+        }, args);
+
+        List<List<TimeBucketData>> series = new ArrayList<>(ranges.size());
+        for (int i = 0; i < ranges.size(); i++) {
+            List<TimeBucketData> rangeSeries = new ArrayList<>(bucketStarts.get(i).size());
+            for (int bucket = 0; bucket < bucketStarts.get(i).size(); bucket++) {
+                rangeSeries.add(new TimeBucketData(bucketStarts.get(i).get(bucket), counts.get(i)[bucket]));
+            }
+            series.add(rangeSeries);
+        }
+        return series;
+    }
+
+    private List<LocalDateTime> bucketStarts(DateRange range, TimeGranularity granularity) {
+        List<LocalDateTime> bucketStarts = new ArrayList<>();
+        for (LocalDateTime bucket = granularity.floor(range.startDate()); bucket.isBefore(range.endDate()); bucket = granularity.next(bucket)) {
+            if (bucketStarts.size() == MAX_BUCKETS) {
+                throw new InvalidDateRangeException("Range has more than " + MAX_BUCKETS + " " + granularity + " buckets, choose a coarser granularity");
+            }
+            bucketStarts.add(bucket);
+        }
+        return bucketStarts;
+    }
+
+    private Map<LocalDateTime, Long> rollupCounts(DateRange range, TimeGranularity granularity) {
+        List<Object[]> rows = switch (granularity) {
+            case HOUR -> hourlyRepository.getBuckets(range.startDate(), range.endDate());
+            case DAY -> hourlyRepository.getDailyScans(range.startDate(), range.endDate());
+            case ISO_WEEK -> hourlyRepository.getWeeklyScans(range.startDate(), range.endDate());
+            case MONTH -> hourlyRepository.getMonthlyScans(range.startDate(), range.endDate());
+            default -> throw new InvalidGranularityException("The hourly rollup cannot answer " + granularity + " granularity");
+        };
+        return fold(rows, granularity);
+    }
+
+    private Map<LocalDateTime, Long> subHourlyCounts(DateRange range, TimeGranularity granularity, List<LocalDateTime> bucketStarts) {
+        if (!segmentStore.isReady()) {
+            return fold(scanRepository.getMinuteScans(range.startDate(), range.endDate()), granularity);
+        }
+        // Clip the outer buckets to the range so the segment store counts exactly [start, end)
+        List<LocalDateTime> boundaries = new ArrayList<>(bucketStarts.size() + 1);
+        boundaries.add(range.startDate());
+        boundaries.addAll(bucketStarts.subList(1, bucketStarts.size()));
+        boundaries.add(range.endDate());
+        long[] counts = segmentStore.countBuckets(boundaries);
+
+        Map<LocalDateTime, Long> countsByBucket = new HashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            countsByBucket.put(bucketStarts.get(i), counts[i]);
+        }
+        return countsByBucket;
+    }
+
+    private static Map<LocalDateTime, Long> fold(List<Object[]> rows, TimeGranularity granularity) {
+        Map<LocalDateTime, Long> countsByBucket = new HashMap<>();
+        for (Object[] row : rows) {
+            LocalDateTime bucketStart = granularity.floor(toLocalDateTime(row[0]));
+            countsByBucket.merge(bucketStart, ((Number) row[1]).longValue(), Long::sum);
+        }
+        return countsByBucket;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime;
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate().atStartOfDay();
+        }
+        if (value instanceof LocalDate date) {
+            return date.atStartOfDay();
+        }
+        return LocalDateTime.parse(value.toString().replace(' ', 'T'));
+    }
+}
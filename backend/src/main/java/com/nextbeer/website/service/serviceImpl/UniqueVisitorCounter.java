@@ -0,0 +1,56 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.nextbeer.website.model.DateRange;
+import com.nextbeer.website.model.ScanEvent;
+import com.nextbeer.website.util.HyperLogLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-day HyperLogLog sketches of visitor keys in qr_scan_daily_visitors. Every day is one
+ * fixed 4 KB register blob no matter how many scans it has; unique visitors for a range are the
+ * estimate of the union of its days.
+ */
+@Component
+@RequiredArgsConstructor
+public class UniqueVisitorCounter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Runs inside the batch writer's transaction so the sketches commit together with the scans
+    public void fold(List<ScanEvent> events) {
+        Map<LocalDate, HyperLogLog> sketches = new TreeMap<>();
+        for (ScanEvent event : events) {
+            if (event.visitorHash() != 0) {
+                sketches.computeIfAbsent(event.scanTime().toLocalDate(), day -> new HyperLogLog()).add(event.visitorHash());
+            }
+        }
+        sketches.forEach((day, batchSketch) -> {
+            // Create the row first so the locking read below always finds one to lock
+            jdbcTemplate.update("INSERT IGNORE INTO qr_scan_daily_visitors (scan_day, registers) VALUES (?, ?)",
+                    Date.valueOf(day), new byte[HyperLogLog.REGISTER_COUNT]);
+            byte[] stored = jdbcTemplate.queryForObject(
+                    "SELECT registers FROM qr_scan_daily_visitors WHERE scan_day = ? FOR UPDATE", byte[].class, Date.valueOf(day));
+            HyperLogLog merged = HyperLogLog.fromBytes(stored);
+            merged.merge(batchSketch);
+            jdbcTemplate.update("UPDATE qr_scan_daily_visitors SET registers = ? WHERE scan_day = ?",
+                    merged.toBytes(), Date.valueOf(day));
+        });
+    }
+
+    public long estimate(DateRange range) {
+        HyperLogLog union = new HyperLogLog();
+        jdbcTemplate.query("SELECT registers FROM qr_scan_daily_visitors WHERE scan_day >= ? AND scan_day <= ?",
+                (RowCallbackHandler) rs -> union.merge(HyperLogLog.fromBytes(rs.getBytes(1))),
+                Date.valueOf(range.startDate().toLocalDate()), Date.valueOf(range.lastDay()));
+        return union.estimate();
+    }
+}
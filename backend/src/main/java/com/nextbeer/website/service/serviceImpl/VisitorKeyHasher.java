@@ -0,0 +1,46 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+
+/**
+ * Turns a client address and user agent into an opaque 64-bit visitor key. The key is an HMAC
+ * under a server-side salt, so the same client maps to the same key across days while neither
+ * the address nor the user agent is ever stored or recoverable.
+ */
+@Component
+public class VisitorKeyHasher {
+
+    private final ThreadLocal<Mac> mac;
+
+    public VisitorKeyHasher(@Value("${app.analytics.visitors.salt:}") String salt) {
+        // An empty salt would let anyone recompute visitor keys from known addresses
+        if (salt.isBlank()) {
+            throw new IllegalStateException("app.analytics.visitors.salt is not set; set the VISITOR_KEY_SALT environment variable to a long random secret");
+        }
+        SecretKeySpec key = new SecretKeySpec(salt.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance("HmacSHA256");
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 is not available", e);
+            }
+        });
+    }
+
+    public long hash(String clientAddress, String userAgent) {
+        String client = (clientAddress == null ? "" : clientAddress) + '\n' + (userAgent == null ? "" : userAgent);
+        byte[] digest = mac.get().doFinal(client.getBytes(StandardCharsets.UTF_8));
+        long hash = ByteBuffer.wrap(digest).getLong();
+        // 0 marks a scan without a visitor
+        return hash == 0 ? 1 : hash;
+    }
+}
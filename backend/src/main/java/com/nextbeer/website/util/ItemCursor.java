@@ -0,0 +1,40 @@
+package com.nextbeer.website.util;
+
+import com.nextbeer.website.exception.InvalidCursorException;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Position of the last item on a keyset page, in listing order (displayOrder, then itemId).
+ * Clients only ever see it as an opaque URL-safe token.
+ */
+public record ItemCursor(int displayOrder, long itemId) {
+
+    private static final int ENCODED_BYTES = Integer.BYTES + Long.BYTES;
+
+    // Sorts before every item, so seeking past it returns the first page
+    public static final ItemCursor START = new ItemCursor(Integer.MIN_VALUE, Long.MIN_VALUE);
+
+    public static ItemCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return START;
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor " + cursor);
+        }
+        if (bytes.length != ENCODED_BYTES) {
+            throw new InvalidCursorException("Invalid cursor " + cursor);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new ItemCursor(buffer.getInt(), buffer.getLong());
+    }
+
+    public String encode() {
+        byte[] bytes = ByteBuffer.allocate(ENCODED_BYTES).putInt(displayOrder).putLong(itemId).array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,103 @@
+package com.nextbeer.website.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Character trie of terms, each with the number of documents containing it. Completion walks to
+ * the prefix node and collects the terms below it, most frequent first. Writers must be
+ * serialised by the caller; readers may run concurrently with them.
+ */
+public final class PrefixTrie {
+
+    public record Completion(String term, int count) {
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new ConcurrentHashMap<>();
+        private volatile int count;
+    }
+
+    private final Node root = new Node();
+
+    public void add(String term) {
+        Node node = root;
+        for (int i = 0; i < term.length(); i++) {
+            node = node.children.computeIfAbsent(term.charAt(i), c -> new Node());
+        }
+        node.count++;
+    }
+
+    // Nodes left with no term and no children are unlinked, so completion never walks dead branches
+    public void remove(String term) {
+        Node[] path = new Node[term.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < term.length(); i++) {
+            path[i + 1] = path[i].children.get(term.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        Node node = path[term.length()];
+        if (node.count == 0) {
+            return;
+        }
+        node.count--;
+        for (int i = term.length(); i > 0 && path[i].count == 0 && path[i].children.isEmpty(); i--) {
+            path[i - 1].children.remove(term.charAt(i - 1));
+        }
+    }
+
+    public boolean isEmpty() {
+        return root.children.isEmpty();
+    }
+
+    public List<Completion> complete(String prefix, int limit) {
+        Node node = find(prefix);
+        if (node == null) {
+            return List.of();
+        }
+        List<Completion> completions = new ArrayList<>();
+        collect(node, new StringBuilder(prefix), completions);
+        completions.sort(Comparator.comparingInt(Completion::count).reversed().thenComparing(Completion::term));
+        return completions.size() > limit ? completions.subList(0, limit) : completions;
+    }
+
+    // Every term starting with the prefix, in no particular order
+    public List<String> termsWithPrefix(String prefix) {
+        Node node = find(prefix);
+        if (node == null) {
+            return List.of();
+        }
+        List<Completion> completions = new ArrayList<>();
+        collect(node, new StringBuilder(prefix), completions);
+        List<String> terms = new ArrayList<>(completions.size());
+        for (Completion completion : completions) {
+            terms.add(completion.term());
+        }
+        return terms;
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    private static void collect(Node node, StringBuilder term, List<Completion> completions) {
+        int count = node.count;
+        if (count > 0) {
+            completions.add(new Completion(term.toString(), count));
+        }
+        for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+            term.append(child.getKey());
+            collect(child.getValue(), term, completions);
+            term.setLength(term.length() - 1);
+        }
+    }
+}
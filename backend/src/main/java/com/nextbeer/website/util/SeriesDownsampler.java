@@ -0,0 +1,62 @@
+package com.nextbeer.website.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling for evenly spaced chart series. The first and last
+ * points are always kept; every bucket in between contributes the point that forms the largest
+ * triangle with the previously kept point and the average of the next bucket, so peaks and dips
+ * survive while the point count drops to the requested maximum.
+ */
+public final class SeriesDownsampler {
+
+    private SeriesDownsampler() {
+    }
+
+    public static <T> List<T> lttb(List<T> points, int maxPoints, ToDoubleFunction<T> value) {
+        if (maxPoints < 3 || points.size() <= maxPoints) {
+            return points;
+        }
+        List<T> sampled = new ArrayList<>(maxPoints);
+        sampled.add(points.get(0));
+
+        // Points between the fixed first and last ones are split into maxPoints - 2 buckets
+        double bucketSize = (double) (points.size() - 2) / (maxPoints - 2);
+        int selected = 0;
+        for (int bucket = 0; bucket < maxPoints - 2; bucket++) {
+            int from = (int) (bucket * bucketSize) + 1;
+            int to = (int) ((bucket + 1) * bucketSize) + 1;
+
+            int nextFrom = to;
+            int nextTo = Math.min((int) ((bucket + 2) * bucketSize) + 1, points.size());
+            double nextX = 0;
+            double nextY = 0;
+            for (int i = nextFrom; i < nextTo; i++) {
+                nextX += i;
+                nextY += value.applyAsDouble(points.get(i));
+            }
+            int nextCount = nextTo - nextFrom;
+            nextX /= nextCount;
+            nextY /= nextCount;
+
+            double selectedY = value.applyAsDouble(points.get(selected));
+            double largestArea = -1;
+            int largest = from;
+            for (int i = from; i < to; i++) {
+                double area = Math.abs((selected - nextX) * (value.applyAsDouble(points.get(i)) - selectedY)
+                        - (selected - i) * (nextY - selectedY));
+                if (area > largestArea) {
+                    largestArea = area;
+                    largest = i;
+                }
+            }
+            sampled.add(points.get(largest));
+            selected = largest;
+        }
+
+        sampled.add(points.get(points.size() - 1));
+        return sampled;
+    }
+}
@@ -0,0 +1,82 @@
+package com.nextbeer.website.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving heavy-hitter sketch: tracks at most {@code capacity} keys, and when a new key
+ * arrives while full it takes over the slot of the smallest counter, inheriting that count as
+ * its possible overestimate. Any key whose true count exceeds total / capacity is guaranteed to
+ * be tracked, and every reported count is at most {@code error} above the truth.
+ */
+public final class SpaceSaving {
+
+    public record Entry(long key, long count, long error) {
+
+        // Lower bound on the true count, which lies between this and count
+        public long guaranteedCount() {
+            return count - error;
+        }
+    }
+
+    private final int capacity;
+    private final Map<Long, long[]> counters;
+
+    public SpaceSaving(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public void offer(long key, long count) {
+        long[] counter = counters.get(key);
+        if (counter != null) {
+            counter[0] += count;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new long[]{count, 0});
+            return;
+        }
+        // Linear scan is fine for the few dozen slots this is used with
+        Map.Entry<Long, long[]> smallest = null;
+        for (Map.Entry<Long, long[]> candidate : counters.entrySet()) {
+            if (smallest == null || candidate.getValue()[0] < smallest.getValue()[0]) {
+                smallest = candidate;
+            }
+        }
+        long floor = smallest.getValue()[0];
+        counters.remove(smallest.getKey());
+        counters.put(key, new long[]{floor + count, floor});
+    }
+
+    // Re-adds a persisted entry, keeping its recorded overestimate
+    public void restore(Entry entry) {
+        offer(entry.key(), entry.count());
+        long[] counter = counters.get(entry.key());
+        if (counter != null) {
+            counter[1] += entry.error();
+        }
+    }
+
+    public void merge(SpaceSaving other) {
+        for (Entry entry : other.entries()) {
+            restore(entry);
+        }
+    }
+
+    public List<Entry> entries() {
+        List<Entry> entries = new ArrayList<>(counters.size());
+        counters.forEach((key, counter) -> entries.add(new Entry(key, counter[0], counter[1])));
+        return entries;
+    }
+
+    public List<Entry> top(int k) {
+        return entries().stream()
+                .sorted(Comparator.comparingLong(Entry::count).reversed())
+                .limit(k)
+                .toList();
+    }
+}
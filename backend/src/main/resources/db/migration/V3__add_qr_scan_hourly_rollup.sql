@@ -0,0 +1,11 @@
+CREATE TABLE qr_scan_hourly
+(
+    bucket_start DATETIME NOT NULL PRIMARY KEY,
+    scan_count   BIGINT   NOT NULL DEFAULT 0
+);
+
+INSERT INTO qr_scan_hourly (bucket_start, scan_count)
+SELECT DATE_FORMAT(scan_time, '%Y-%m-%d %H:00:00'), COUNT(*)
+FROM qr_scans
+WHERE scan_time IS NOT NULL
+GROUP BY DATE_FORMAT(scan_time, '%Y-%m-%d %H:00:00');
@@ -0,0 +1,2 @@
+-- InnoDB secondary indexes carry the primary key, so this covers every analytics query on qr_scans
+CREATE INDEX idx_qr_scans_scan_time ON qr_scans (scan_time);
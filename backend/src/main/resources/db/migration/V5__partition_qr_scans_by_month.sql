@@ -0,0 +1,22 @@
+-- Daily totals for months whose raw scans have been dropped by the retention job
+CREATE TABLE qr_scan_daily
+(
+    scan_day   DATE   NOT NULL PRIMARY KEY,
+    scan_count BIGINT NOT NULL DEFAULT 0
+);
+
+-- RANGE COLUMNS partitioning needs a non-null DATETIME key that is part of every unique key
+UPDATE qr_scans SET scan_time = CURRENT_TIMESTAMP WHERE scan_time IS NULL;
+ALTER TABLE qr_scans MODIFY scan_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE qr_scans DROP PRIMARY KEY, ADD PRIMARY KEY (id, scan_time);
+
+-- Existing history goes into one partition ending at next month; the retention job splits
+-- p_future into monthly partitions ahead of time and drops expired ones
+SET @next_month = DATE_FORMAT(CURRENT_DATE + INTERVAL 1 MONTH, '%Y-%m-01');
+SET @partition_ddl = CONCAT(
+        'ALTER TABLE qr_scans PARTITION BY RANGE COLUMNS (scan_time) (',
+        'PARTITION p_history VALUES LESS THAN (''', @next_month, '''), ',
+        'PARTITION p_future VALUES LESS THAN (MAXVALUE))');
+PREPARE partition_stmt FROM @partition_ddl;
+EXECUTE partition_stmt;
+DEALLOCATE PREPARE partition_stmt;
@@ -0,0 +1,6 @@
+-- One HyperLogLog sketch (4096 one-byte registers) of hashed visitor keys per day
+CREATE TABLE qr_scan_daily_visitors
+(
+    scan_day  DATE            NOT NULL PRIMARY KEY,
+    registers VARBINARY(4096) NOT NULL
+);
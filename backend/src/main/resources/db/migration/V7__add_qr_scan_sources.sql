@@ -0,0 +1,19 @@
+-- Dictionary of QR source codes (table stickers, flyers, ...) so scans and rollups store a small integer
+CREATE TABLE qr_sources
+(
+    id         INT AUTO_INCREMENT PRIMARY KEY,
+    code       VARCHAR(64) NOT NULL,
+    created_at DATETIME    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_qr_sources_code UNIQUE (code)
+);
+
+ALTER TABLE qr_scans ADD COLUMN source_id INT NULL;
+
+-- Hourly counts of scans that carried a source code, keyed by the integer id
+CREATE TABLE qr_scan_hourly_source
+(
+    bucket_start DATETIME NOT NULL,
+    source_id    INT      NOT NULL,
+    scan_count   BIGINT   NOT NULL DEFAULT 0,
+    PRIMARY KEY (bucket_start, source_id)
+);
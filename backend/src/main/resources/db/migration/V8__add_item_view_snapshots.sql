@@ -0,0 +1,9 @@
+-- Periodic snapshots of the in-memory Space-Saving sketches of item views, one small set of rows per hour
+CREATE TABLE item_view_snapshots
+(
+    window_start DATETIME NOT NULL,
+    item_id      BIGINT   NOT NULL,
+    view_count   BIGINT   NOT NULL,
+    error_count  BIGINT   NOT NULL DEFAULT 0,
+    PRIMARY KEY (window_start, item_id)
+);
@@ -0,0 +1,2 @@
+-- Keyset pagination seeks on (display_order, item_id) within one category's active items
+CREATE INDEX idx_items_category_active_order ON items (category_id, is_active, display_order, item_id);
@@ -0,0 +1,125 @@
+package com.nextbeer.website.config.appConfig;
+
+import com.nextbeer.website.controller.QRTrackingController;
+import com.nextbeer.website.enums.ScanIngestionMode;
+import com.nextbeer.website.repository.QRScanHourlyRepository;
+import com.nextbeer.website.repository.QRSourceRepository;
+import com.nextbeer.website.service.serviceImpl.AnalyticsResultCache;
+import com.nextbeer.website.service.serviceImpl.LiveScanCounter;
+import com.nextbeer.website.service.serviceImpl.QRAnalyticsServiceImpl;
+import com.nextbeer.website.service.serviceImpl.QRScanBatchWriter;
+import com.nextbeer.website.service.serviceImpl.QRScanIngestionBuffer;
+import com.nextbeer.website.service.serviceImpl.QRSourceDictionary;
+import com.nextbeer.website.service.serviceImpl.ScanAdmissionController;
+import com.nextbeer.website.service.serviceImpl.ScanDeduplicator;
+import com.nextbeer.website.service.serviceImpl.ScanRangeIndex;
+import com.nextbeer.website.service.serviceImpl.ScanSegmentStore;
+import com.nextbeer.website.service.serviceImpl.TimeBucketEngine;
+import com.nextbeer.website.service.serviceImpl.UniqueVisitorCounter;
+import com.nextbeer.website.service.serviceImpl.VisitorKeyHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * The pixel filter against the MVC tracking endpoint, both in front of the same buffered
+ * ingestion path. Nothing here touches a database: the batch writer is a stub the flusher drains
+ * into, and every request comes from a new address so the deduplicator does not short-circuit it.
+ *
+ * <pre>mvn -Pbenchmark test-compile exec:exec -Dbenchmark="ScanPixelFilterBenchmark"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ScanPixelFilterBenchmark {
+
+    private final AtomicInteger visitors = new AtomicInteger();
+
+    private QRScanIngestionBuffer ingestionBuffer;
+    private ScanPixelFilter filter;
+    private MockMvc mockMvc;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ScanAdmissionController admissionController = new ScanAdmissionController(mock(DataSource.class), meterRegistry, 6);
+        // Stub-only so the flusher does not pile up recorded invocations
+        QRScanBatchWriter batchWriter = mock(QRScanBatchWriter.class, withSettings().stubOnly());
+        ingestionBuffer = new QRScanIngestionBuffer(batchWriter, admissionController, meterRegistry, 10_000);
+        ReflectionTestUtils.setField(ingestionBuffer, "batchSize", 500);
+        ReflectionTestUtils.setField(ingestionBuffer, "flushIntervalMs", 1000L);
+        ReflectionTestUtils.setField(ingestionBuffer, "maxFlushDelayMs", 5000L);
+        ingestionBuffer.start();
+
+        QRSourceRepository sourceRepository = mock(QRSourceRepository.class, withSettings().stubOnly());
+        QRAnalyticsServiceImpl analyticsService = new QRAnalyticsServiceImpl(mock(QRScanHourlyRepository.class),
+                sourceRepository, ingestionBuffer, batchWriter, mock(AnalyticsResultCache.class),
+                new LiveScanCounter(mock(QRScanHourlyRepository.class, withSettings().stubOnly())),
+                mock(ScanSegmentStore.class), mock(TimeBucketEngine.class), mock(ScanRangeIndex.class),
+                new VisitorKeyHasher("benchmark-salt"), mock(UniqueVisitorCounter.class),
+                new QRSourceDictionary(sourceRepository, null),
+                new ScanDeduplicator(meterRegistry, true, 30, 10_000, 0.001), admissionController);
+        ReflectionTestUtils.setField(analyticsService, "ingestionMode", ScanIngestionMode.BUFFERED);
+
+        filter = new ScanPixelFilter(analyticsService);
+        mockMvc = MockMvcBuilders.standaloneSetup(new QRTrackingController(analyticsService)).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ingestionBuffer.stop();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse pixelFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/qr-pixel");
+        request.setRemoteAddr(nextAddress());
+        request.addHeader("User-Agent", "Mozilla/5.0");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse trackingController() throws Exception {
+        return mockMvc.perform(post("/api/v1/qr-track")
+                        .header("User-Agent", "Mozilla/5.0")
+                        .with(request -> {
+                            request.setRemoteAddr(nextAddress());
+                            return request;
+                        }))
+                .andReturn().getResponse();
+    }
+
+    private String nextAddress() {
+        int visitor = visitors.incrementAndGet();
+        return "10." + ((visitor >>> 16) & 0xff) + "." + ((visitor >>> 8) & 0xff) + "." + (visitor & 0xff);
+    }
+}
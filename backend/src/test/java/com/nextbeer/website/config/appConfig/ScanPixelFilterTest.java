@@ -0,0 +1,98 @@
+package com.nextbeer.website.config.appConfig;
+
+import com.nextbeer.website.enums.ScanIngestionResult;
+import com.nextbeer.website.service.QRAnalyticsService;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ScanPixelFilterTest {
+
+    private QRAnalyticsService analyticsService;
+    private FilterChain chain;
+    private ScanPixelFilter filter;
+
+    @BeforeEach
+    void createFilter() {
+        analyticsService = mock(QRAnalyticsService.class);
+        chain = mock(FilterChain.class);
+        filter = new ScanPixelFilter(analyticsService);
+    }
+
+    @Test
+    void pixelGoesThroughTheIngestionBufferOnly() throws Exception {
+        when(analyticsService.queueScan(anyString(), any(), any())).thenReturn(ScanIngestionResult.QUEUED);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(get(), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).isEqualTo("image/gif");
+        assertThat(response.getHeader("Cache-Control")).isEqualTo("no-store");
+        verify(analyticsService).queueScan("203.0.113.7", "Mozilla/5.0", "menu-card");
+        verify(analyticsService, never()).logScan(any(), any(), any());
+        verifyNoInteractions(chain);
+    }
+
+    @Test
+    void failedIngestionStillAnswersThePixel() throws Exception {
+        when(analyticsService.queueScan(anyString(), any(), any())).thenThrow(new IllegalStateException("boom"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(get(), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isNotEmpty();
+    }
+
+    @Test
+    void beaconIsAnsweredWithNoContentUnlessTheBufferIsFull() throws Exception {
+        when(analyticsService.queueScan(anyString(), any(), any()))
+                .thenReturn(ScanIngestionResult.QUEUED, ScanIngestionResult.REJECTED);
+        MockHttpServletResponse accepted = new MockHttpServletResponse();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+        filter.doFilter(post(), accepted, chain);
+        filter.doFilter(post(), rejected, chain);
+
+        assertThat(accepted.getStatus()).isEqualTo(204);
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("5");
+    }
+
+    @Test
+    void otherMethodsAreNotAllowed() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("PUT", "/api/v1/qr-pixel"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(405);
+        assertThat(response.getHeader("Allow")).isEqualTo("GET, POST");
+        verifyNoInteractions(analyticsService);
+    }
+
+    private static MockHttpServletRequest get() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/qr-pixel");
+        request.setRemoteAddr("203.0.113.7");
+        request.addHeader("User-Agent", "Mozilla/5.0");
+        request.setParameter("source", "menu-card");
+        return request;
+    }
+
+    private static MockHttpServletRequest post() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/qr-pixel");
+        request.setRemoteAddr("203.0.113.7");
+        return request;
+    }
+}
@@ -0,0 +1,51 @@
+package com.nextbeer.website.config.appConfig;
+
+import com.nextbeer.website.service.serviceImpl.CatalogVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class WebConfigTest {
+
+    private final MappedInterceptor catalogETags = catalogETagMapping();
+
+    @Test
+    void catalogReadsGoThroughTheETagInterceptor() {
+        for (String path : List.of("/api/v1/catalog", "/api/v1/menus/1", "/api/v1/items/search",
+                "/api/v1/items/autocomplete", "/api/v1/items/category/3")) {
+            assertThat(catalogETags.matches(get(path))).as(path).isTrue();
+        }
+    }
+
+    @Test
+    void itemDetailAndPopularItemsAreNeverAnsweredWith304() {
+        assertThat(catalogETags.matches(get("/api/v1/items/42"))).isFalse();
+        assertThat(catalogETags.matches(get("/api/v1/items/popular"))).isFalse();
+    }
+
+    private static MappedInterceptor catalogETagMapping() {
+        ExposedInterceptorRegistry registry = new ExposedInterceptorRegistry();
+        new WebConfig(new CatalogETagInterceptor(mock(CatalogVersion.class))).addInterceptors(registry);
+        return (MappedInterceptor) registry.getInterceptors().get(0);
+    }
+
+    private static final class ExposedInterceptorRegistry extends InterceptorRegistry {
+        @Override
+        public List<Object> getInterceptors() {
+            return super.getInterceptors();
+        }
+    }
+
+    private static MockHttpServletRequest get(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        ServletRequestPathUtils.parseAndCache(request);
+        return request;
+    }
+}
@@ -0,0 +1,142 @@
+package com.nextbeer.website.controller;
+
+import com.nextbeer.website.exception.GlobalExceptionHandler;
+import com.nextbeer.website.model.DateRange;
+import com.nextbeer.website.repository.QRScanHourlyRepository;
+import com.nextbeer.website.repository.QRScanRepository;
+import com.nextbeer.website.repository.QRSourceRepository;
+import com.nextbeer.website.service.serviceImpl.AnalyticsResultCache;
+import com.nextbeer.website.service.serviceImpl.LiveScanBroadcaster;
+import com.nextbeer.website.service.serviceImpl.LiveScanCounter;
+import com.nextbeer.website.service.serviceImpl.QRAnalyticsServiceImpl;
+import com.nextbeer.website.service.serviceImpl.QRScanBatchWriter;
+import com.nextbeer.website.service.serviceImpl.QRScanIngestionBuffer;
+import com.nextbeer.website.service.serviceImpl.QRSourceDictionary;
+import com.nextbeer.website.service.serviceImpl.ScanAdmissionController;
+import com.nextbeer.website.service.serviceImpl.ScanCsvExporter;
+import com.nextbeer.website.service.serviceImpl.ScanDeduplicator;
+import com.nextbeer.website.service.serviceImpl.ScanRangeIndex;
+import com.nextbeer.website.service.serviceImpl.ScanSegmentStore;
+import com.nextbeer.website.service.serviceImpl.TimeBucketEngine;
+import com.nextbeer.website.service.serviceImpl.UniqueVisitorCounter;
+import com.nextbeer.website.service.serviceImpl.VisitorKeyHasher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AnalyticsControllerTest {
+
+    private MockMvc mockMvc;
+
+    private final ScanCsvExporter scanCsvExporter = new ScanCsvExporter(mock(JdbcTemplate.class), 1);
+
+    @BeforeEach
+    void setUp() {
+        AnalyticsResultCache resultCache = mock(AnalyticsResultCache.class);
+        when(resultCache.get(anyString(), any(DateRange.class), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+        ScanSegmentStore segmentStore = mock(ScanSegmentStore.class);
+        TimeBucketEngine bucketEngine = new TimeBucketEngine(mock(QRScanHourlyRepository.class), mock(QRScanRepository.class),
+                segmentStore, mock(JdbcTemplate.class));
+        QRAnalyticsServiceImpl analyticsService = new QRAnalyticsServiceImpl(mock(QRScanHourlyRepository.class),
+                mock(QRSourceRepository.class), mock(QRScanIngestionBuffer.class), mock(QRScanBatchWriter.class), resultCache,
+                mock(LiveScanCounter.class), segmentStore, bucketEngine, mock(ScanRangeIndex.class), mock(VisitorKeyHasher.class),
+                mock(UniqueVisitorCounter.class), mock(QRSourceDictionary.class), mock(ScanDeduplicator.class),
+                mock(ScanAdmissionController.class));
+        ReflectionTestUtils.setField(analyticsService, "maxCustomRangeDays", 1096L);
+        mockMvc = MockMvcBuilders.standaloneSetup(new AnalyticsController(analyticsService, mock(LiveScanBroadcaster.class),
+                        scanCsvExporter))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void seriesWithinTheBucketLimitIsAnswered() throws Exception {
+        mockMvc.perform(post("/api/v1/dashboard/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(customRange("2026-03-01", "2026-03-02", "HOUR")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(48));
+    }
+
+    @Test
+    void seriesWithTooManyBucketsIsABadRequest() throws Exception {
+        // A month of minutes is 44,640 buckets
+        mockMvc.perform(post("/api/v1/dashboard/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(customRange("2026-03-01", "2026-03-31", "MINUTE")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+
+    @Test
+    void subHourlyComparisonIsABadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/dashboard/compare")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"granularity": "QUARTER_HOUR", "ranges": [%s, %s]}
+                                """.formatted(customRange("2026-03-01", "2026-03-02", null), customRange("2026-02-01", "2026-02-02", null))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Range comparisons support HOUR granularity or coarser, not QUARTER_HOUR"));
+    }
+
+    @Test
+    void hourlyComparisonIsAnswered() throws Exception {
+        mockMvc.perform(post("/api/v1/dashboard/compare")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"granularity": "DAY", "ranges": [%s, %s]}
+                                """.formatted(customRange("2026-03-01", "2026-03-02", null), customRange("2026-02-01", "2026-02-07", null))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].series.length()").value(2))
+                .andExpect(jsonPath("$[1].series.length()").value(7));
+    }
+
+    @Test
+    void exportOfAnInvertedRangeIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/dashboard/export").param("startDate", "2026-03-10").param("endDate", "2026-03-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("startDate must not be after endDate"));
+    }
+
+    @Test
+    void exportOfAnOverlongRangeIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/dashboard/export").param("startDate", "2020-01-01").param("endDate", "2026-03-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportBeyondTheConcurrencyCapIsTurnedAway() throws Exception {
+        // The only permit is held by an export still streaming
+        assertThat(scanCsvExporter.tryAcquire()).isTrue();
+
+        mockMvc.perform(get("/api/v1/dashboard/export").param("startDate", "2026-03-01").param("endDate", "2026-03-02"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "30"));
+
+        scanCsvExporter.release();
+        assertThat(scanCsvExporter.tryAcquire()).isTrue();
+    }
+
+    private static String customRange(String startDate, String endDate, String granularity) {
+        return """
+                {"rangeType": "CUSTOM", "startDate": "%s", "endDate": "%s", "granularity": %s}
+                """.formatted(startDate, endDate, granularity == null ? "null" : "\"" + granularity + "\"");
+    }
+}
@@ -0,0 +1,52 @@
+package com.nextbeer.website.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class QRScanRepositoryIndexUsageTest {
+
+    private static final String INDEX_NAME = "idx_qr_scans_scan_time";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void applyIndexMigration() {
+        jdbcTemplate.execute("DROP INDEX IF EXISTS " + INDEX_NAME);
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V4__add_qr_scans_scan_time_index.sql")
+        ).execute(dataSource);
+        // H2 has no DATE_FORMAT; EXPLAIN only needs it to resolve, index use depends on the WHERE range
+        jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS DATE_FORMAT AS "
+                + "'String dateFormat(java.sql.Timestamp time, String pattern) { return time.toString(); }'");
+    }
+
+    @Test
+    void minuteSeriesUsesScanTimeIndex() {
+        assertThat(explain(QRScanRepository.MINUTE_SCANS)).contains(INDEX_NAME);
+    }
+
+    private String explain(String query) {
+        String sql = query
+                .replace(":start", "TIMESTAMP '2025-01-06 00:00:00'")
+                .replace(":end", "TIMESTAMP '2025-01-13 00:00:00'");
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class)).toLowerCase();
+    }
+}
@@ -0,0 +1,82 @@
+package com.nextbeer.website.repository;
+
+import com.nextbeer.website.model.QRScan;
+import com.nextbeer.website.model.QRScanHourly;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Counts and daily totals read qr_scan_hourly, so rolling a raw month out of qr_scans must not change them
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class QRScanRetentionReadPathTest {
+
+    private static final LocalDateTime EXPIRED_MONTH = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime KEPT_MONTH = LocalDateTime.of(2024, 2, 1, 0, 0);
+
+    @Autowired
+    private QRScanRepository scanRepository;
+
+    @Autowired
+    private QRScanHourlyRepository hourlyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void recordScans() {
+        // What the batch writer leaves behind: raw rows plus the matching hourly rollup
+        Map<LocalDateTime, Long> hourly = new TreeMap<>();
+        for (LocalDateTime scanTime : List.of(
+                EXPIRED_MONTH.plusDays(3).plusHours(9), EXPIRED_MONTH.plusDays(3).plusHours(9).plusMinutes(20),
+                EXPIRED_MONTH.plusDays(30).plusHours(23).plusMinutes(59),
+                KEPT_MONTH.plusHours(1), KEPT_MONTH.plusDays(2).plusHours(12))) {
+            QRScan scan = new QRScan();
+            scan.setScanTime(scanTime);
+            scanRepository.save(scan);
+            hourly.merge(scanTime.truncatedTo(ChronoUnit.HOURS), 1L, Long::sum);
+        }
+        hourly.forEach((bucketStart, scanCount) -> {
+            QRScanHourly bucket = new QRScanHourly();
+            bucket.setBucketStart(bucketStart);
+            bucket.setScanCount(scanCount);
+            hourlyRepository.save(bucket);
+        });
+        scanRepository.flush();
+        hourlyRepository.flush();
+    }
+
+    @Test
+    void countsAndDailyTotalsSurviveDroppingARawMonth() {
+        LocalDateTime start = EXPIRED_MONTH;
+        LocalDateTime end = KEPT_MONTH.plusMonths(1);
+        Long totalBefore = hourlyRepository.sumScansBetween(start, end);
+        List<Object[]> dailyBefore = hourlyRepository.getDailyScans(start, end);
+
+        // Stand-in for ALTER TABLE ... DROP PARTITION, which H2 does not support
+        int dropped = jdbcTemplate.update("DELETE FROM qr_scans WHERE scan_time < ?", Timestamp.valueOf(KEPT_MONTH));
+
+        assertThat(dropped).isEqualTo(3);
+        assertThat(scanRepository.count()).isEqualTo(2);
+        assertThat(totalBefore).isEqualTo(5);
+        assertThat(hourlyRepository.sumScansBetween(start, end)).isEqualTo(totalBefore);
+        assertThat(hourlyRepository.getDailyScans(start, end)).containsExactlyElementsOf(dailyBefore);
+        assertThat(hourlyRepository.getDailyScans(start, KEPT_MONTH))
+                .extracting(row -> ((Number) row[1]).longValue())
+                .containsExactly(2L, 1L);
+    }
+}
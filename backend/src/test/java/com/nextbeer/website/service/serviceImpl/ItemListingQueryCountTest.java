@@ -0,0 +1,144 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.nextbeer.website.dto.response.CursorPageResponse;
+import com.nextbeer.website.dto.response.ItemResponseDto;
+import com.nextbeer.website.mapper.ItemMapper;
+import com.nextbeer.website.model.Category;
+import com.nextbeer.website.model.Item;
+import com.nextbeer.website.model.ItemTag;
+import com.nextbeer.website.model.ItemVariant;
+import com.nextbeer.website.model.Menu;
+import com.nextbeer.website.service.CategoryService;
+import com.nextbeer.website.service.ItemTagService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ItemServiceImpl.class, ItemMapper.class})
+class ItemListingQueryCountTest {
+
+    // Count, id page, items with tags, variants
+    private static final long STATEMENTS_PER_PAGE = 4;
+
+    // Keyset pages skip the count
+    private static final long STATEMENTS_PER_CURSOR_PAGE = 3;
+
+    @Autowired
+    private ItemServiceImpl itemService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private FileStorageService fileStorageService;
+
+    @MockitoBean
+    private CategoryService categoryService;
+
+    @MockitoBean
+    private ItemTagService itemTagService;
+
+    @MockitoBean
+    private ItemPopularityTracker popularityTracker;
+
+    @MockitoBean
+    private ItemSearchIndex searchIndex;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void createItems() {
+        Menu menu = new Menu();
+        menu.setName("Drinks");
+        entityManager.persist(menu);
+        Category category = entityManager.persist(Category.builder().name("Beer").menu(menu).isActive(true).build());
+        List<ItemTag> tags = List.of(
+                entityManager.persist(ItemTag.builder().name("draft").isActive(true).build()),
+                entityManager.persist(ItemTag.builder().name("local").isActive(true).build()));
+        for (int i = 0; i < 12; i++) {
+            Item item = Item.builder()
+                    .name("Beer " + i)
+                    .price(BigDecimal.TEN)
+                    .category(category)
+                    .isActive(true)
+                    .displayOrder(i)
+                    .tags(new ArrayList<>(tags))
+                    .variants(new ArrayList<>())
+                    .build();
+            item.getVariants().add(ItemVariant.builder().name("0.33").price(BigDecimal.ONE).isActive(true).item(item).build());
+            item.getVariants().add(ItemVariant.builder().name("0.5").price(BigDecimal.valueOf(2)).isActive(true).item(item).build());
+            entityManager.persist(item);
+        }
+        categoryId = category.getCategoryId();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void pageCostsFixedNumberOfStatements() {
+        for (int size : List.of(2, 10)) {
+            Statistics statistics = statistics();
+            Page<ItemResponseDto> page = itemService.getAllItemsByCategoryId(categoryId, 0, size);
+
+            assertThat(page.getContent()).hasSize(size);
+            assertThat(page.getTotalElements()).isEqualTo(12);
+            assertThat(page.getContent()).allSatisfy(item -> {
+                assertThat(item.getItemTagResponses()).hasSize(2);
+                assertThat(item.getItemVariantResponses()).hasSize(2);
+            });
+            assertThat(page.getContent()).extracting(ItemResponseDto::getDisplayOrder).isSorted();
+            assertThat(statistics.getPrepareStatementCount()).as("page size %d", size).isEqualTo(STATEMENTS_PER_PAGE);
+            entityManager.clear();
+        }
+    }
+
+    @Test
+    void cursorPagesWalkAllItemsWithoutCount() {
+        List<ItemResponseDto> walked = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            Statistics statistics = statistics();
+            CursorPageResponse<ItemResponseDto> page = itemService.getItemsByCategoryIdAfter(categoryId, cursor, 5);
+
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(STATEMENTS_PER_CURSOR_PAGE);
+            walked.addAll(page.getContent());
+            cursor = page.getNextCursor();
+            assertThat(cursor == null).isEqualTo(!page.isHasNext());
+            pages++;
+            entityManager.clear();
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(walked).extracting(ItemResponseDto::getDisplayOrder)
+                .containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
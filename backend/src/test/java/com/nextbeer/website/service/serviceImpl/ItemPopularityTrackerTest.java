@@ -0,0 +1,73 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.nextbeer.website.dto.response.PopularItemResponse;
+import com.nextbeer.website.model.Item;
+import com.nextbeer.website.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemPopularityTrackerTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ItemPopularityTracker tracker =
+            new ItemPopularityTracker(jdbcTemplate, itemRepository, new TransactionTemplate(transactionManager));
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(tracker, "capacity", 8);
+        ReflectionTestUtils.setField(tracker, "windowHours", 24);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        when(itemRepository.findAllByItemIdInAndIsActiveTrue(anyList())).thenReturn(List.of(item(1L), item(2L)));
+    }
+
+    @Test
+    void loadWritesSnapshotsInsideATransaction() {
+        tracker.recordView(1L);
+
+        tracker.load();
+
+        InOrder order = inOrder(transactionManager, jdbcTemplate);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(jdbcTemplate).update(startsWith("DELETE FROM item_view_snapshots WHERE window_start = ?"), any(Object[].class));
+        order.verify(jdbcTemplate).update(startsWith("INSERT INTO item_view_snapshots"), any(Object[].class));
+        order.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void ranksActiveItemsByViews() {
+        tracker.recordView(1L);
+        tracker.recordView(2L);
+        tracker.recordView(2L);
+        tracker.recordView(3L);
+
+        tracker.refresh();
+
+        assertThat(tracker.getPopularItems(10)).extracting(PopularItemResponse::getItemId).containsExactly(2L, 1L);
+        assertThat(tracker.getPopularItems(1)).extracting(PopularItemResponse::getViews).containsExactly(2L);
+    }
+
+    private static Item item(Long id) {
+        Item item = new Item();
+        item.setItemId(id);
+        item.setName("Item " + id);
+        return item;
+    }
+}
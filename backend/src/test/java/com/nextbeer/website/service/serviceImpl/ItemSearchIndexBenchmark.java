@@ -0,0 +1,122 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.nextbeer.website.dto.response.CatalogCategoryResponse;
+import com.nextbeer.website.dto.response.CatalogMenuResponse;
+import com.nextbeer.website.dto.response.CatalogResponse;
+import com.nextbeer.website.dto.response.ItemResponseDto;
+import com.nextbeer.website.dto.response.ItemTagResponse;
+import com.nextbeer.website.dto.response.ItemVariantResponse;
+import com.nextbeer.website.repository.ItemRepository;
+import com.nextbeer.website.util.PrefixTrie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Search, autocomplete and the prefix trie under them, over a generated catalog whose names,
+ * descriptions, tags and variants are built from a fixed syllable set, so the short prefixes
+ * expand to many terms the way a real menu's first letters do.
+ *
+ * <pre>mvn -Pbenchmark test-compile exec:exec -Dbenchmark="ItemSearchIndexBenchmark"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ItemSearchIndexBenchmark {
+
+    private static final String[] SYLLABLES = {"pi", "və", "la", "ger", "qa", "ra", "li", "mo", "nad", "kar",
+            "tof", "sto", "ut", "ale", "bi", "ra", "şə", "kər", "su", "maq"};
+
+    @Param({"500", "5000"})
+    private int items;
+
+    private ItemSearchIndex searchIndex;
+    private PrefixTrie trie;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<ItemResponseDto> catalogItems = new ArrayList<>();
+        trie = new PrefixTrie();
+        for (long id = 1; id <= items; id++) {
+            String name = word(random) + " " + word(random);
+            String description = word(random) + " " + word(random) + " " + word(random) + " " + word(random);
+            catalogItems.add(ItemResponseDto.builder()
+                    .itemId(id)
+                    .name(name)
+                    .description(description)
+                    .itemTagResponses(List.of(ItemTagResponse.builder().name(word(random)).build()))
+                    .itemVariantResponses(List.of(ItemVariantResponse.builder().name(word(random)).build()))
+                    .build());
+            for (String term : (name + " " + description).split(" ")) {
+                trie.add(term);
+            }
+        }
+
+        CatalogSnapshotBuilder snapshotBuilder = mock(CatalogSnapshotBuilder.class);
+        when(snapshotBuilder.build()).thenReturn(CatalogResponse.builder()
+                .menus(List.of(CatalogMenuResponse.builder()
+                        .menuId(1L)
+                        .categories(List.of(CatalogCategoryResponse.builder()
+                                .categoryId(1L)
+                                .items(catalogItems)
+                                .build()))
+                        .build()))
+                .build());
+        searchIndex = new ItemSearchIndex(snapshotBuilder, mock(ItemRepository.class));
+        searchIndex.load();
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> searchOneLetter() {
+        return searchIndex.search("p", 20);
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> searchWordAndPrefix() {
+        return searchIndex.search("pivə la", 20);
+    }
+
+    @Benchmark
+    public List<String> autocompleteOneLetter() {
+        return searchIndex.autocomplete("qara k", 10);
+    }
+
+    @Benchmark
+    public List<PrefixTrie.Completion> trieComplete() {
+        return trie.complete("p", 10);
+    }
+
+    @Benchmark
+    public List<String> trieTermsWithPrefix() {
+        return trie.termsWithPrefix("p");
+    }
+
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 1 + random.nextInt(3); i >= 0; i--) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.toString();
+    }
+}
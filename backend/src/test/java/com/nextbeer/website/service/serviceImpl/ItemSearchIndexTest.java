@@ -0,0 +1,109 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.nextbeer.website.dto.response.CatalogCategoryResponse;
+import com.nextbeer.website.dto.response.CatalogMenuResponse;
+import com.nextbeer.website.dto.response.CatalogResponse;
+import com.nextbeer.website.dto.response.ItemResponseDto;
+import com.nextbeer.website.dto.response.ItemTagResponse;
+import com.nextbeer.website.dto.response.ItemVariantResponse;
+import com.nextbeer.website.enums.CatalogChangeSource;
+import com.nextbeer.website.event.CatalogChangedEvent;
+import com.nextbeer.website.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemSearchIndexTest {
+
+    private final CatalogSnapshotBuilder snapshotBuilder = mock(CatalogSnapshotBuilder.class);
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final ItemSearchIndex searchIndex = new ItemSearchIndex(snapshotBuilder, itemRepository);
+
+    private final List<ItemResponseDto> catalogItems = new ArrayList<>();
+
+    @BeforeEach
+    void loadCatalog() {
+        catalogItems.add(item(1L, "Qara pivə", "Tünd və ağır", List.of("draft"), List.of("0.5 L")));
+        catalogItems.add(item(2L, "Limonad", "Təzə limon və pivə mayası", List.of(), List.of()));
+        catalogItems.add(item(3L, "Lager", "Yüngül", List.of("pivə"), List.of()));
+        catalogItems.add(item(4L, "Pivəli kartof", "Qızardılmış", List.of(), List.of("Böyük")));
+        when(snapshotBuilder.build()).thenAnswer(invocation -> CatalogResponse.builder()
+                .menus(List.of(CatalogMenuResponse.builder()
+                        .menuId(1L)
+                        .categories(List.of(CatalogCategoryResponse.builder()
+                                .categoryId(1L)
+                                .items(List.copyOf(catalogItems))
+                                .build()))
+                        .build()))
+                .build());
+        searchIndex.load();
+    }
+
+    @Test
+    void ranksNameMatchesAboveTagsAboveDescriptions() {
+        // Both name matches score the same and fall back to name order
+        assertThat(searchIndex.search("pive", 10)).extracting(ItemResponseDto::getItemId)
+                .containsExactly(4L, 1L, 3L, 2L);
+    }
+
+    @Test
+    void matchesTheLastWordAsAPrefixAndEveryOtherWordExactly() {
+        assertThat(searchIndex.search("QARA piv", 10)).extracting(ItemResponseDto::getItemId).containsExactly(1L);
+        assertThat(searchIndex.search("qar piv", 10)).isEmpty();
+        assertThat(searchIndex.search("kart", 10)).extracting(ItemResponseDto::getItemId).containsExactly(4L);
+    }
+
+    @Test
+    void completesTheLastWordAfterTheTypedOnes() {
+        assertThat(searchIndex.autocomplete("qara pi", 3)).containsExactly("qara pive", "qara piveli");
+        assertThat(searchIndex.autocomplete("  ", 3)).isEmpty();
+    }
+
+    @Test
+    void dropsItemsThatLeaveTheCatalog() {
+        catalogItems.removeIf(item -> item.getItemId() == 4L);
+        searchIndex.onCatalogChanged(new CatalogChangedEvent(CatalogChangeSource.MENU));
+
+        assertThat(searchIndex.search("kart", 10)).isEmpty();
+        assertThat(searchIndex.autocomplete("kar", 5)).isEmpty();
+        assertThat(searchIndex.search("pive", 10)).extracting(ItemResponseDto::getItemId).containsExactly(1L, 3L, 2L);
+    }
+
+    @Test
+    void reindexesOnlyTheChangedItem() {
+        when(snapshotBuilder.buildVisibleItems(List.of(2L)))
+                .thenReturn(List.of(item(2L, "Limonad", "Nanə ilə", List.of(), List.of())));
+        searchIndex.onCatalogChanged(new CatalogChangedEvent(CatalogChangeSource.ITEM, 2L));
+
+        assertThat(searchIndex.search("pive", 10)).extracting(ItemResponseDto::getItemId).containsExactly(4L, 1L, 3L);
+        assertThat(searchIndex.search("nane", 10)).extracting(ItemResponseDto::getItemId).containsExactly(2L);
+    }
+
+    @Test
+    void expandsEveryTermOfThePrefixNotOnlyTheMostFrequent() {
+        // Sixty terms shared by two items each outrank the one rare term that matches item 99
+        for (long id = 100; id < 220; id++) {
+            catalogItems.add(item(id, "Sort" + (id - 100) / 2, "", List.of(), List.of()));
+        }
+        catalogItems.add(item(99L, "Sumaq", "", List.of(), List.of()));
+        searchIndex.onCatalogChanged(new CatalogChangedEvent(CatalogChangeSource.MENU));
+
+        assertThat(searchIndex.search("sumaq s", 10)).extracting(ItemResponseDto::getItemId).containsExactly(99L);
+    }
+
+    private static ItemResponseDto item(Long id, String name, String description, List<String> tags, List<String> variants) {
+        return ItemResponseDto.builder()
+                .itemId(id)
+                .name(name)
+                .description(description)
+                .itemTagResponses(tags.stream().map(tag -> ItemTagResponse.builder().name(tag).build()).toList())
+                .itemVariantResponses(variants.stream().map(variant -> ItemVariantResponse.builder().name(variant).build()).toList())
+                .build();
+    }
+}
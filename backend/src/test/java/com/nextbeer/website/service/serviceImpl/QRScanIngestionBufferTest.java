@@ -0,0 +1,74 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.nextbeer.website.model.ScanEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QRScanIngestionBufferTest {
+
+    private final QRScanBatchWriter batchWriter = mock(QRScanBatchWriter.class);
+    private final ScanAdmissionController admissionController = mock(ScanAdmissionController.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QRScanIngestionBuffer buffer = new QRScanIngestionBuffer(batchWriter, admissionController, meterRegistry, 2);
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(buffer, "batchSize", 10);
+        ReflectionTestUtils.setField(buffer, "flushIntervalMs", 20L);
+        ReflectionTestUtils.setField(buffer, "maxFlushDelayMs", 100L);
+    }
+
+    @AfterEach
+    void stopFlusher() {
+        if (buffer.isRunning()) {
+            buffer.stop();
+        }
+    }
+
+    @Test
+    void writesAdmittedBatchesAndReleasesThePermit() {
+        when(admissionController.tryAcquire()).thenReturn(true);
+        buffer.start();
+
+        assertThat(buffer.offer(new ScanEvent(LocalDateTime.now()))).isTrue();
+
+        verify(batchWriter, timeout(2000)).write(anyList());
+        verify(admissionController, timeout(2000)).release();
+        assertThat(meterRegistry.counter("qr.scan.ingest.admission.bypassed").count()).isZero();
+    }
+
+    @Test
+    void countsBatchesWrittenWithoutAPermitAfterTheMaxDelay() {
+        when(admissionController.tryAcquire()).thenReturn(false);
+        buffer.offer(new ScanEvent(LocalDateTime.now()));
+        buffer.offer(new ScanEvent(LocalDateTime.now()));
+
+        buffer.start();
+
+        verify(batchWriter, timeout(2000)).write(anyList());
+        assertThat(meterRegistry.counter("qr.scan.ingest.admission.bypassed").count()).isEqualTo(2);
+        verify(admissionController, never()).release();
+    }
+
+    @Test
+    void rejectsScansOnceTheQueueIsFull() {
+        assertThat(buffer.offer(new ScanEvent(LocalDateTime.now()))).isTrue();
+        assertThat(buffer.offer(new ScanEvent(LocalDateTime.now()))).isTrue();
+        assertThat(buffer.offer(new ScanEvent(LocalDateTime.now()))).isFalse();
+        assertThat(meterRegistry.counter("qr.scan.ingest.dropped").count()).isEqualTo(1);
+    }
+}
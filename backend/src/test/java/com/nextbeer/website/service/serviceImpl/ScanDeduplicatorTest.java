@@ -0,0 +1,93 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScanDeduplicatorTest {
+
+    private static final long WINDOW_SECONDS = 30;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ScanDeduplicator deduplicator =
+            new ScanDeduplicator(meterRegistry, true, WINDOW_SECONDS, 1000, 0.001, clock::get);
+
+    @Test
+    void suppressesRepeatsOfTheSameClientAndSource() {
+        assertThat(deduplicator.isDuplicate(17, 1)).isFalse();
+        assertThat(deduplicator.isDuplicate(17, 1)).isTrue();
+        assertThat(deduplicator.isDuplicate(17, 2)).isFalse();
+        assertThat(deduplicator.isDuplicate(17, null)).isFalse();
+        assertThat(deduplicator.isDuplicate(18, 1)).isFalse();
+        assertThat(meterRegistry.counter("qr.scan.dedup.suppressed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void neverSuppressesScansWithoutAVisitor() {
+        assertThat(deduplicator.isDuplicate(0, 1)).isFalse();
+        assertThat(deduplicator.isDuplicate(0, 1)).isFalse();
+    }
+
+    @Test
+    void remembersAFingerprintForOneMoreWindowAfterRotation() {
+        deduplicator.isDuplicate(17, 1);
+
+        // First rotation: the fingerprint moves to the previous filter and is still suppressed
+        advanceSeconds(WINDOW_SECONDS + 1);
+        assertThat(deduplicator.isDuplicate(17, 1)).isTrue();
+    }
+
+    @Test
+    void forgetsAFingerprintNotSeenForTwoWindows() {
+        deduplicator.isDuplicate(17, 1);
+
+        advanceSeconds(WINDOW_SECONDS);
+        deduplicator.isDuplicate(99, 1);
+        advanceSeconds(WINDOW_SECONDS);
+
+        assertThat(deduplicator.isDuplicate(17, 1)).isFalse();
+    }
+
+    @Test
+    void dropsBothFiltersAfterALongIdleGap() {
+        deduplicator.isDuplicate(17, 1);
+
+        advanceSeconds(3 * WINDOW_SECONDS);
+
+        assertThat(deduplicator.isDuplicate(17, 1)).isFalse();
+    }
+
+    @Test
+    void keepsFalsePositivesNearTheConfiguredRate() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = 0; i < 1000; i++) {
+            deduplicator.isDuplicate(random.nextLong() | 1, 1);
+        }
+        // Probes are recorded too, so only a few are sent to keep the filter near its expected load
+        int suppressed = 0;
+        for (int i = 0; i < 200; i++) {
+            if (deduplicator.isDuplicate(random.nextLong() | 1, 2)) {
+                suppressed++;
+            }
+        }
+        assertThat(suppressed).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void disabledDeduplicatorLetsEverythingThrough() {
+        ScanDeduplicator disabled = new ScanDeduplicator(new SimpleMeterRegistry(), false, WINDOW_SECONDS, 1000, 0.001, clock::get);
+
+        assertThat(disabled.isDuplicate(17, 1)).isFalse();
+        assertThat(disabled.isDuplicate(17, 1)).isFalse();
+    }
+
+    private void advanceSeconds(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
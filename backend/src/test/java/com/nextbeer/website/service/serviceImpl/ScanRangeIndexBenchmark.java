@@ -0,0 +1,115 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.nextbeer.website.model.QRScanHourly;
+import com.nextbeer.website.repository.QRScanHourlyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Range totals from the Fenwick index against the SUM over qr_scan_hourly it replaces, on H2 with
+ * one rollup row per hour. Both sides answer the same precomputed random ranges in turn.
+ *
+ * <pre>mvn -Pbenchmark test-compile exec:exec -Dbenchmark="ScanRangeIndexBenchmark"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ScanRangeIndexBenchmark {
+
+    private static final int RANGES = 1024;
+
+    // Three years of hourly buckets
+    @Param("26280")
+    private int hours;
+
+    private JdbcTemplate jdbcTemplate;
+    private ScanRangeIndex index;
+    private final LocalDateTime[] starts = new LocalDateTime[RANGES];
+    private final LocalDateTime[] ends = new LocalDateTime[RANGES];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime origin = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(hours);
+        SplittableRandom random = new SplittableRandom(42);
+        List<QRScanHourly> buckets = new ArrayList<>(hours);
+        for (int hour = 0; hour < hours; hour++) {
+            QRScanHourly bucket = new QRScanHourly();
+            bucket.setBucketStart(origin.plusHours(hour));
+            bucket.setScanCount((long) random.nextInt(500));
+            buckets.add(bucket);
+        }
+
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:range-benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE qr_scan_hourly (bucket_start TIMESTAMP PRIMARY KEY, scan_count BIGINT NOT NULL)");
+        jdbcTemplate.batchUpdate("INSERT INTO qr_scan_hourly (bucket_start, scan_count) VALUES (?, ?)", buckets, 1000,
+                (statement, bucket) -> {
+                    statement.setTimestamp(1, Timestamp.valueOf(bucket.getBucketStart()));
+                    statement.setLong(2, bucket.getScanCount());
+                });
+
+        QRScanHourlyRepository hourlyRepository = mock(QRScanHourlyRepository.class);
+        when(hourlyRepository.findAll(any(Sort.class))).thenReturn(buckets);
+        index = new ScanRangeIndex(hourlyRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(index, "enabled", true);
+        index.load();
+
+        for (int i = 0; i < RANGES; i++) {
+            int from = random.nextInt(hours);
+            starts[i] = origin.plusHours(from);
+            ends[i] = origin.plusHours(from + random.nextInt(hours - from) + 1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("DROP TABLE qr_scan_hourly");
+    }
+
+    @Benchmark
+    public long indexTotal() {
+        int i = next++ & (RANGES - 1);
+        return index.total(starts[i], ends[i]);
+    }
+
+    @Benchmark
+    public Long sqlSum() {
+        int i = next++ & (RANGES - 1);
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(scan_count), 0) FROM qr_scan_hourly WHERE bucket_start >= ? AND bucket_start < ?",
+                Long.class, Timestamp.valueOf(starts[i]), Timestamp.valueOf(ends[i]));
+    }
+}
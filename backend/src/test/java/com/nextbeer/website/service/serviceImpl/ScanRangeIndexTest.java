@@ -0,0 +1,160 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.nextbeer.website.model.QRScanHourly;
+import com.nextbeer.website.model.ScanEvent;
+import com.nextbeer.website.repository.QRScanHourlyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ScanRangeIndexTest {
+
+    private final QRScanHourlyRepository hourlyRepository = mock(QRScanHourlyRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ScanRangeIndex index = new ScanRangeIndex(hourlyRepository, meterRegistry);
+
+    // Hourly counts starting at origin, mirrored by the rollup rows the index loads
+    private final LocalDateTime origin = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusDays(10);
+    private final long[] expected = new long[240];
+
+    @BeforeEach
+    void loadRollup() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<QRScanHourly> buckets = new ArrayList<>();
+        for (int hour = 0; hour < expected.length; hour++) {
+            if (random.nextInt(4) == 0) {
+                continue;
+            }
+            expected[hour] = random.nextInt(100);
+            QRScanHourly bucket = new QRScanHourly();
+            bucket.setBucketStart(origin.plusHours(hour));
+            bucket.setScanCount(expected[hour]);
+            buckets.add(bucket);
+        }
+        when(hourlyRepository.findAll(any(Sort.class))).thenReturn(buckets);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "checkWindowHours", 48);
+        index.load();
+    }
+
+    @Test
+    void totalsMatchTheSumOfEveryHourInTheRange() {
+        assertThat(index.isReady()).isTrue();
+        for (int from = 0; from < expected.length; from += 7) {
+            for (int to = from; to <= expected.length; to += 13) {
+                assertThat(index.total(origin.plusHours(from), origin.plusHours(to))).isEqualTo(sum(from, to));
+            }
+        }
+    }
+
+    @Test
+    void rangesAreHourAlignedAndHalfOpen() {
+        assertThat(index.total(origin.plusMinutes(59), origin.plusHours(3).plusMinutes(30))).isEqualTo(sum(0, 3));
+        assertThat(index.total(origin.plusHours(5), origin.plusHours(5))).isZero();
+        assertThat(index.total(origin.plusHours(6), origin.plusHours(2))).isZero();
+        assertThat(index.total(origin.minusYears(1), origin.plusYears(1))).isEqualTo(sum(0, expected.length));
+    }
+
+    @Test
+    void addedScansShowUpInTheirHour() {
+        index.add(List.of(
+                new ScanEvent(origin.plusHours(10).plusMinutes(5)),
+                new ScanEvent(origin.plusHours(10).plusMinutes(50)),
+                new ScanEvent(origin.plusHours(11))));
+        expected[10] += 2;
+        expected[11] += 1;
+
+        assertThat(index.total(origin.plusHours(10), origin.plusHours(11))).isEqualTo(expected[10]);
+        assertThat(index.total(origin, origin.plusHours(expected.length))).isEqualTo(sum(0, expected.length));
+    }
+
+    @Test
+    void growsForHoursOutsideTheLoadedSpan() {
+        LocalDateTime longBefore = origin.minusYears(3);
+        LocalDateTime farAhead = origin.plusYears(3);
+        index.add(List.of(new ScanEvent(longBefore), new ScanEvent(farAhead), new ScanEvent(farAhead)));
+
+        assertThat(index.total(longBefore, longBefore.plusHours(1))).isEqualTo(1);
+        assertThat(index.total(farAhead, farAhead.plusHours(1))).isEqualTo(2);
+        assertThat(index.total(origin, origin.plusHours(expected.length))).isEqualTo(sum(0, expected.length));
+        assertThat(index.total(longBefore, farAhead.plusHours(1))).isEqualTo(sum(0, expected.length) + 3);
+    }
+
+    @Test
+    void consistencyCheckRepairsDriftedHours() {
+        // Two closed hours inside the check window, whatever minute the test runs at
+        LocalDateTime closed = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(10);
+        int drifted = (int) ChronoUnit.HOURS.between(origin, closed);
+        int missing = drifted - 5;
+        List<Object[]> rows = new ArrayList<>();
+        LocalDateTime windowStart = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(50);
+        for (int hour = (int) ChronoUnit.HOURS.between(origin, windowStart); hour < expected.length; hour++) {
+            if (hour == drifted) {
+                rows.add(new Object[]{origin.plusHours(hour), expected[hour] + 7});
+            } else if (hour != missing && expected[hour] != 0) {
+                rows.add(new Object[]{origin.plusHours(hour), expected[hour]});
+            }
+        }
+        when(hourlyRepository.getBuckets(any(), any())).thenReturn(rows);
+
+        index.checkConsistency();
+
+        assertThat(index.total(origin.plusHours(drifted), origin.plusHours(drifted + 1))).isEqualTo(expected[drifted] + 7);
+        assertThat(index.total(origin.plusHours(missing), origin.plusHours(missing + 1))).isZero();
+        long corrected = (expected[missing] != 0 ? 1 : 0) + 1;
+        assertThat(meterRegistry.counter("qr.scan.range-index.drift").count()).isEqualTo(corrected);
+    }
+
+    @Test
+    void replaysBatchesCommittedWhileLoadingWithoutCountingThemTwice() {
+        QRScanHourlyRepository rollup = mock(QRScanHourlyRepository.class);
+        ScanRangeIndex loading = new ScanRangeIndex(rollup, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(loading, "enabled", true);
+        LocalDateTime hour = origin.plusHours(20);
+        LocalDateTime nextHour = hour.plusHours(1);
+        // The rows load() reads already hold the first batch but not the second
+        loading.add(List.of(new ScanEvent(hour.plusMinutes(1)), new ScanEvent(hour.plusMinutes(2))));
+        loading.add(List.of(new ScanEvent(hour.plusMinutes(3)), new ScanEvent(nextHour)));
+        when(rollup.findAll(any(Sort.class))).thenReturn(List.of(hourly(hour, 12)));
+        when(rollup.getBuckets(hour, nextHour.plusHours(1))).thenReturn(List.of(
+                new Object[]{hour, 13L},
+                new Object[]{nextHour, 1L}));
+
+        assertThat(loading.isReady()).isFalse();
+        assertThat(loading.total(origin, origin.plusDays(2))).isZero();
+
+        loading.load();
+
+        assertThat(loading.isReady()).isTrue();
+        assertThat(loading.total(hour, nextHour)).isEqualTo(13);
+        assertThat(loading.total(nextHour, nextHour.plusHours(1))).isEqualTo(1);
+    }
+
+    private static QRScanHourly hourly(LocalDateTime bucketStart, long scanCount) {
+        QRScanHourly bucket = new QRScanHourly();
+        bucket.setBucketStart(bucketStart);
+        bucket.setScanCount(scanCount);
+        return bucket;
+    }
+
+    private long sum(int from, int to) {
+        long sum = 0;
+        for (int hour = from; hour < to; hour++) {
+            sum += expected[hour];
+        }
+        return sum;
+    }
+}
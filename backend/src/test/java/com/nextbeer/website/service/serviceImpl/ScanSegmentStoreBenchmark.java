@@ -0,0 +1,122 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bucketed scan counts from the segment store against the GROUP BY the engine falls back to,
+ * over the same qr_scans rows spread evenly across the year before today.
+ *
+ * <pre>mvn -Pbenchmark test-compile exec:exec -Dbenchmark="ScanSegmentStoreBenchmark -p scans=1000000"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ScanSegmentStoreBenchmark {
+
+    private static final int DAYS = 365;
+
+    @Param("10000000")
+    private int scans;
+
+    private JdbcTemplate jdbcTemplate;
+    private Path segmentDir;
+    private ScanSegmentStore store;
+    private LocalDateTime yearStart;
+    private LocalDateTime dayStart;
+    private List<LocalDateTime> dailyBoundaries;
+    private List<LocalDateTime> minuteBoundaries;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:segment-benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE qr_scans (id BIGINT AUTO_INCREMENT PRIMARY KEY, scan_time TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX idx_scan_time ON qr_scans (scan_time)");
+
+        yearStart = LocalDate.now().minusDays(DAYS).atStartOfDay();
+        double step = DAYS * 86_400d / scans;
+        jdbcTemplate.update("INSERT INTO qr_scans (scan_time) "
+                        + "SELECT DATEADD('SECOND', CAST(FLOOR((X - 1) * CAST(? AS DOUBLE)) AS INT), CAST(? AS TIMESTAMP)) "
+                        + "FROM SYSTEM_RANGE(1, CAST(? AS INT))",
+                step, Timestamp.valueOf(yearStart), scans);
+
+        segmentDir = Files.createTempDirectory("scan-segments");
+        store = new ScanSegmentStore(jdbcTemplate);
+        ReflectionTestUtils.setField(store, "enabled", true);
+        ReflectionTestUtils.setField(store, "segmentDir", segmentDir.toString());
+        store.open();
+
+        dailyBoundaries = new ArrayList<>();
+        for (int day = 0; day <= DAYS; day++) {
+            dailyBoundaries.add(yearStart.plusDays(day));
+        }
+        dayStart = yearStart.plusDays(DAYS / 2);
+        minuteBoundaries = new ArrayList<>();
+        for (int minute = 0; minute <= 1440; minute++) {
+            minuteBoundaries.add(dayStart.plusMinutes(minute));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+        jdbcTemplate.execute("DROP TABLE qr_scans");
+        FileSystemUtils.deleteRecursively(segmentDir);
+    }
+
+    @Benchmark
+    public long[] dailyYearFromSegments() {
+        return store.countBuckets(dailyBoundaries);
+    }
+
+    @Benchmark
+    public List<Long> dailyYearFromSql() {
+        return jdbcTemplate.queryForList(
+                "SELECT COUNT(*) FROM qr_scans WHERE scan_time >= ? AND scan_time < ? "
+                        + "GROUP BY CAST(scan_time AS DATE) ORDER BY CAST(scan_time AS DATE)",
+                Long.class, Timestamp.valueOf(yearStart), Timestamp.valueOf(yearStart.plusDays(DAYS)));
+    }
+
+    @Benchmark
+    public long[] minuteDayFromSegments() {
+        return store.countBuckets(minuteBoundaries);
+    }
+
+    @Benchmark
+    public List<Long> minuteDayFromSql() {
+        return jdbcTemplate.queryForList(
+                "SELECT COUNT(*) FROM qr_scans WHERE scan_time >= ? AND scan_time < ? "
+                        + "GROUP BY DATE_TRUNC('MINUTE', scan_time) ORDER BY DATE_TRUNC('MINUTE', scan_time)",
+                Long.class, Timestamp.valueOf(dayStart), Timestamp.valueOf(dayStart.plusDays(1)));
+    }
+}
@@ -0,0 +1,129 @@
+package com.nextbeer.website.service.serviceImpl;
+
+import com.nextbeer.website.model.ScanEvent;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScanSegmentStoreTest {
+
+    @TempDir
+    private Path segmentDir;
+
+    private JdbcTemplate jdbcTemplate;
+    // Runs once, right after the rebuild has read its snapshot of qr_scans
+    private Runnable afterRebuildQuery = () -> {
+    };
+    private ScanSegmentStore store;
+
+    @BeforeEach
+    void createStore() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:segments;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE qr_scans (id BIGINT AUTO_INCREMENT PRIMARY KEY, scan_time TIMESTAMP NOT NULL)");
+        JdbcTemplate streamingJdbcTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public void query(String sql, RowCallbackHandler rch, Object... args) {
+                super.query(sql, rch, args);
+                if (sql.startsWith("SELECT scan_time FROM qr_scans WHERE scan_time < ?")) {
+                    afterRebuildQuery.run();
+                }
+            }
+        };
+        store = new ScanSegmentStore(streamingJdbcTemplate);
+        ReflectionTestUtils.setField(store, "enabled", true);
+        ReflectionTestUtils.setField(store, "segmentDir", segmentDir.toString());
+    }
+
+    @AfterEach
+    void dropTable() {
+        store.close();
+        jdbcTemplate.execute("DROP TABLE qr_scans");
+    }
+
+    @Test
+    void rebuildsFromQrScansOnFirstStart() {
+        LocalDateTime day = LocalDate.now().minusDays(3).atStartOfDay();
+        commit(day.plusHours(1), day.plusHours(2), day.plusHours(2).plusMinutes(5));
+
+        store.open();
+
+        assertThat(store.isReady()).isTrue();
+        assertThat(store.countBuckets(List.of(day, day.plusHours(2), day.plusHours(3), day.plusDays(1))))
+                .containsExactly(1, 2, 0);
+    }
+
+    @Test
+    void replaysPendingScansTheRebuildDidNotSeeWithoutDoublingThoseItDid() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime earlier = now.minusSeconds(30);
+        // Committed before the rebuild, but handed to the store only while it was opening
+        ScanEvent seenByRebuild = commit(earlier).get(0);
+        // Stamped before the cutoff, committed after the rebuild's snapshot
+        ScanEvent missedByRebuild = new ScanEvent(earlier);
+        afterRebuildQuery = () -> {
+            afterRebuildQuery = () -> {
+            };
+            insert(missedByRebuild.scanTime());
+        };
+        store.append(List.of(seenByRebuild, missedByRebuild));
+
+        store.open();
+
+        assertThat(store.count(earlier, earlier.plusSeconds(1))).isEqualTo(2);
+        assertThat(store.count(now.toLocalDate().atStartOfDay(), now.toLocalDate().plusDays(1).atStartOfDay())).isEqualTo(2);
+    }
+
+    @Test
+    void appendsToAMappedDayAreVisibleToLaterCounts() {
+        LocalDateTime day = LocalDate.now().minusDays(5).atStartOfDay();
+        store.open();
+        store.append(commit(day.plusHours(1)));
+        assertThat(store.count(day, day.plusDays(1))).isEqualTo(1);
+
+        store.append(commit(day.plusHours(2), day.plusHours(3)));
+
+        assertThat(store.count(day, day.plusDays(1))).isEqualTo(3);
+    }
+
+    @Test
+    void mergesLateScansIntoTheirPlaceInTheDay() {
+        LocalDateTime day = LocalDate.now().minusDays(2).atStartOfDay();
+        store.open();
+        store.append(commit(day.plusHours(5), day.plusHours(7)));
+
+        store.append(commit(day.plusHours(6), day.plusHours(1)));
+
+        assertThat(store.countBuckets(List.of(day, day.plusHours(2), day.plusHours(6), day.plusHours(7), day.plusDays(1))))
+                .containsExactly(1, 1, 1, 1);
+    }
+
+    private List<ScanEvent> commit(LocalDateTime... scanTimes) {
+        List<ScanEvent> events = new ArrayList<>();
+        for (LocalDateTime scanTime : scanTimes) {
+            insert(scanTime);
+            events.add(new ScanEvent(scanTime));
+        }
+        return events;
+    }
+
+    private void insert(LocalDateTime scanTime) {
+        jdbcTemplate.update("INSERT INTO qr_scans (scan_time) VALUES (?)", Timestamp.valueOf(scanTime));
+    }
+}
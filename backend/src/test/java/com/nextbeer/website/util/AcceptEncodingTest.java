@@ -0,0 +1,35 @@
+package com.nextbeer.website.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AcceptEncodingTest {
+
+    @Test
+    void acceptsGzipListedWithOrWithoutAPositiveQuality() {
+        assertThat(AcceptEncoding.acceptsGzip("gzip")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("br;q=1.0, GZIP;q=0.5")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("x-gzip")).isTrue();
+    }
+
+    @Test
+    void refusesGzipWithZeroQualityOrNotListed() {
+        assertThat(AcceptEncoding.acceptsGzip(null)).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("gzip ; q=0.000, br")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("deflate, br")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("gzip;q=abc")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("notgzip")).isFalse();
+    }
+
+    @Test
+    void explicitEntryOutranksTheWildcard() {
+        assertThat(AcceptEncoding.acceptsGzip("*")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("*;q=0")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("gzip;q=0, *")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("*;q=0, gzip")).isTrue();
+    }
+}
@@ -0,0 +1,81 @@
+package com.nextbeer.website.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    // Three standard errors of the 4096-register sketch
+    private static final double TOLERANCE = 3 * 1.04 / Math.sqrt(HyperLogLog.REGISTER_COUNT);
+
+    @Test
+    void emptySketchEstimatesZero() {
+        assertThat(new HyperLogLog().estimate()).isZero();
+    }
+
+    @Test
+    void estimatesSmallAndLargeCardinalitiesWithinTheErrorBound() {
+        for (int distinct : new int[]{100, 5_000, 200_000}) {
+            HyperLogLog sketch = sketchOf(new SplittableRandom(distinct), distinct);
+            assertThat((double) sketch.estimate()).isCloseTo(distinct, within(distinct * TOLERANCE));
+        }
+    }
+
+    @Test
+    void ignoresRepeatedKeys() {
+        HyperLogLog sketch = new HyperLogLog();
+        SplittableRandom random = new SplittableRandom(7);
+        long[] keys = new long[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+        }
+        for (int pass = 0; pass < 5; pass++) {
+            for (long key : keys) {
+                sketch.add(key);
+            }
+        }
+        assertThat((double) sketch.estimate()).isCloseTo(keys.length, within(keys.length * TOLERANCE));
+    }
+
+    @Test
+    void mergeEstimatesTheUnion() {
+        SplittableRandom random = new SplittableRandom(11);
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        // 20k keys in both, 20k only in each
+        for (int i = 0; i < 60_000; i++) {
+            long key = random.nextLong();
+            if (i < 40_000) {
+                first.add(key);
+            }
+            if (i >= 20_000) {
+                second.add(key);
+            }
+        }
+        first.merge(second);
+        assertThat((double) first.estimate()).isCloseTo(60_000, within(60_000 * TOLERANCE));
+    }
+
+    @Test
+    void roundTripsThroughBytes() {
+        HyperLogLog sketch = sketchOf(new SplittableRandom(3), 1_000);
+        HyperLogLog restored = HyperLogLog.fromBytes(sketch.toBytes());
+
+        assertThat(restored.estimate()).isEqualTo(sketch.estimate());
+        assertThat(restored.toBytes()).isEqualTo(sketch.toBytes());
+        assertThatThrownBy(() -> HyperLogLog.fromBytes(new byte[16])).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static HyperLogLog sketchOf(SplittableRandom random, int distinct) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < distinct; i++) {
+            sketch.add(random.nextLong());
+        }
+        return sketch;
+    }
+}
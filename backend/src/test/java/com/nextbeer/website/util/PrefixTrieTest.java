@@ -0,0 +1,79 @@
+package com.nextbeer.website.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixTrieTest {
+
+    @Test
+    void completesMostFrequentTermsFirst() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("beer");
+        trie.add("bee");
+        trie.add("beer");
+        trie.add("bread");
+        trie.add("ale");
+
+        assertThat(trie.complete("be", 10)).containsExactly(
+                new PrefixTrie.Completion("beer", 2),
+                new PrefixTrie.Completion("bee", 1));
+        assertThat(trie.complete("b", 2)).extracting(PrefixTrie.Completion::term).containsExactly("beer", "bee");
+        assertThat(trie.complete("c", 10)).isEmpty();
+    }
+
+    @Test
+    void listsEveryTermWithThePrefixRegardlessOfCompletionLimits() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("beer");
+        trie.add("beer");
+        trie.add("bee");
+        trie.add("bread");
+        trie.add("ale");
+
+        assertThat(trie.termsWithPrefix("b")).containsExactlyInAnyOrder("beer", "bee", "bread");
+        assertThat(trie.termsWithPrefix("bee")).containsExactlyInAnyOrder("beer", "bee");
+        assertThat(trie.termsWithPrefix("c")).isEmpty();
+    }
+
+    @Test
+    void removeDecrementsUntilTheTermIsGone() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("lager");
+        trie.add("lager");
+
+        trie.remove("lager");
+        assertThat(trie.complete("la", 10)).containsExactly(new PrefixTrie.Completion("lager", 1));
+
+        trie.remove("lager");
+        assertThat(trie.complete("la", 10)).isEmpty();
+    }
+
+    @Test
+    void removePrunesDeadBranchesButKeepsSharedPrefixes() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("stout");
+        trie.add("st");
+        trie.add("stella");
+
+        trie.remove("stout");
+        assertThat(trie.complete("sto", 10)).isEmpty();
+        assertThat(trie.complete("st", 10)).extracting(PrefixTrie.Completion::term).containsExactly("st", "stella");
+
+        trie.remove("stella");
+        trie.remove("st");
+        assertThat(trie.isEmpty()).isTrue();
+    }
+
+    @Test
+    void removeIgnoresUnknownTerms() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("cider");
+
+        trie.remove("cid");
+        trie.remove("ciders");
+        trie.remove("wine");
+
+        assertThat(trie.complete("", 10)).containsExactly(new PrefixTrie.Completion("cider", 1));
+    }
+}
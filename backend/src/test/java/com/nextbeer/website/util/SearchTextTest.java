@@ -0,0 +1,36 @@
+package com.nextbeer.website.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchTextTest {
+
+    @Test
+    void foldsCaseAndAccents() {
+        assertThat(SearchText.fold("Şərab")).isEqualTo("serab");
+        assertThat(SearchText.fold("SERAB")).isEqualTo("serab");
+        assertThat(SearchText.fold("Çörək")).isEqualTo("corek");
+    }
+
+    @Test
+    void mapsDotlessIAndSchwa() {
+        assertThat(SearchText.fold("qızıl")).isEqualTo("qizil");
+        assertThat(SearchText.fold("QIZIL")).isEqualTo("qizil");
+        assertThat(SearchText.fold("Əla")).isEqualTo("ela");
+        assertThat(SearchText.fold("İçki")).isEqualTo("icki");
+    }
+
+    @Test
+    void splitsOnEverythingButLettersAndDigits() {
+        assertThat(SearchText.tokens("  Pivə, 0.5L — təzə! ")).containsExactly("pive", "0", "5l", "teze");
+    }
+
+    @Test
+    void returnsNoTokensForNullOrPunctuation() {
+        assertThat(SearchText.tokens(null)).isEmpty();
+        assertThat(SearchText.tokens(" -- ")).isEqualTo(List.of());
+    }
+}
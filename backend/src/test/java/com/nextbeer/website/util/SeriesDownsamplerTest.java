@@ -0,0 +1,60 @@
+package com.nextbeer.website.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeriesDownsamplerTest {
+
+    @Test
+    void returnsShortSeriesUnchanged() {
+        List<Double> points = List.of(1.0, 5.0, 2.0, 8.0);
+
+        assertThat(SeriesDownsampler.lttb(points, 4, Double::doubleValue)).isSameAs(points);
+        assertThat(SeriesDownsampler.lttb(points, 2, Double::doubleValue)).isSameAs(points);
+    }
+
+    @Test
+    void keepsTheEndpointsAndTheRequestedPointCount() {
+        List<Double> points = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            points.add(Math.sin(i / 25.0));
+        }
+
+        List<Double> sampled = SeriesDownsampler.lttb(points, 50, Double::doubleValue);
+
+        assertThat(sampled).hasSize(50);
+        assertThat(sampled.get(0)).isSameAs(points.get(0));
+        assertThat(sampled.get(sampled.size() - 1)).isSameAs(points.get(points.size() - 1));
+    }
+
+    @Test
+    void keepsIsolatedPeaksAndDips() {
+        List<Double> points = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            points.add(10.0);
+        }
+        points.set(137, 400.0);
+        points.set(371, -250.0);
+
+        List<Double> sampled = SeriesDownsampler.lttb(points, 20, Double::doubleValue);
+
+        assertThat(sampled).contains(400.0, -250.0);
+        assertThat(sampled.indexOf(400.0)).isLessThan(sampled.indexOf(-250.0));
+    }
+
+    @Test
+    void keepsPointsInTheirOriginalOrder() {
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            indexes.add(i);
+        }
+
+        List<Integer> sampled = SeriesDownsampler.lttb(indexes, 30, i -> (i * 37) % 11);
+
+        assertThat(sampled).isSorted().doesNotHaveDuplicates();
+    }
+}
@@ -0,0 +1,82 @@
+package com.nextbeer.website.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpaceSavingTest {
+
+    @Test
+    void countsExactlyWhileUnderCapacity() {
+        SpaceSaving sketch = new SpaceSaving(3);
+        sketch.offer(1, 5);
+        sketch.offer(2, 2);
+        sketch.offer(1, 1);
+
+        assertThat(sketch.top(3)).containsExactly(
+                new SpaceSaving.Entry(1, 6, 0),
+                new SpaceSaving.Entry(2, 2, 0));
+    }
+
+    @Test
+    void newKeyTakesOverTheSmallestCounterAndInheritsItAsError() {
+        SpaceSaving sketch = new SpaceSaving(2);
+        sketch.offer(1, 10);
+        sketch.offer(2, 3);
+        sketch.offer(3, 1);
+
+        assertThat(sketch.entries()).containsExactlyInAnyOrder(
+                new SpaceSaving.Entry(1, 10, 0),
+                new SpaceSaving.Entry(3, 4, 3));
+        assertThat(sketch.top(1)).containsExactly(new SpaceSaving.Entry(1, 10, 0));
+    }
+
+    @Test
+    void keepsHeavyHittersAndBoundsTheirCounts() {
+        SpaceSaving sketch = new SpaceSaving(4);
+        long[] truth = new long[20];
+        for (int round = 0; round < 50; round++) {
+            sketch.offer(0, 3);
+            truth[0] += 3;
+            int key = 1 + round % 19;
+            sketch.offer(key, 1);
+            truth[key]++;
+        }
+        // Key 0 is 150 of 200 views, well above total / capacity
+        SpaceSaving.Entry heavy = sketch.top(1).get(0);
+        assertThat(heavy.key()).isZero();
+        for (SpaceSaving.Entry entry : sketch.entries()) {
+            assertThat(entry.guaranteedCount()).isLessThanOrEqualTo(truth[(int) entry.key()]);
+            assertThat(entry.count()).isGreaterThanOrEqualTo(truth[(int) entry.key()]);
+        }
+    }
+
+    @Test
+    void restoreKeepsTheRecordedError() {
+        SpaceSaving sketch = new SpaceSaving(2);
+        sketch.restore(new SpaceSaving.Entry(7, 9, 4));
+        sketch.restore(new SpaceSaving.Entry(7, 1, 1));
+
+        assertThat(sketch.entries()).containsExactly(new SpaceSaving.Entry(7, 10, 5));
+        assertThat(sketch.entries().get(0).guaranteedCount()).isEqualTo(5);
+    }
+
+    @Test
+    void mergeAddsCountsAndErrorsOfSharedKeys() {
+        SpaceSaving first = new SpaceSaving(2);
+        first.offer(1, 4);
+        first.offer(2, 2);
+        first.offer(3, 1);
+        SpaceSaving second = new SpaceSaving(2);
+        second.offer(1, 6);
+        second.offer(3, 2);
+
+        SpaceSaving merged = new SpaceSaving(2);
+        merged.merge(first);
+        merged.merge(second);
+
+        assertThat(merged.entries()).containsExactlyInAnyOrder(
+                new SpaceSaving.Entry(1, 10, 0),
+                new SpaceSaving.Entry(3, 5, 2));
+    }
+}
@@ -86,6 +86,12 @@ export interface PageResponse<T> {
   first: boolean;
 }
 
+export interface CursorPageResponse<T> {
+  content: T[];
+  nextCursor: string | null;
+  hasNext: boolean;
+}
+
 export const customerApi = createApi({
   reducerPath: 'customerApi',
   baseQuery: customerBaseQuery,
@@ -127,6 +133,25 @@ export const customerApi = createApi({
       providesTags: ['Item'],
     }),
 
+    // Keyset pages of a category's items; pages fetched with a cursor are appended to the cached list
+    getItemsByCursor: builder.query<CursorPageResponse<Item>, { categoryId: number; cursor?: string | null; size?: number }>({
+      query: ({ categoryId, cursor, size = 20 }) => ({
+        url: `/items/category/${categoryId}/cursor`,
+        params: cursor ? { cursor, size } : { size },
+      }),
+      serializeQueryArgs: ({ queryArgs }) => ({ categoryId: queryArgs.categoryId, size: queryArgs.size }),
+      merge: (cached, incoming, { arg }) => {
+        if (!arg.cursor) {
+          return incoming;
+        }
+        cached.content.push(...incoming.content);
+        cached.nextCursor = incoming.nextCursor;
+        cached.hasNext = incoming.hasNext;
+      },
+      forceRefetch: ({ currentArg, previousArg }) => currentArg?.cursor !== previousArg?.cursor,
+      providesTags: ['Item'],
+    }),
+
     // Get individual item by ID
     getItemById: builder.query<Item, number>({
       query: (itemId) => `/items/${itemId}`,
@@ -146,6 +171,7 @@ export const {
   useGetMenusQuery,
   useGetCategoriesQuery,
   useGetItemsQuery,
+  useGetItemsByCursorQuery,
   useGetItemByIdQuery,
   useGetRestaurantQuery,
 } = customerApi;
\ No newline at end of file
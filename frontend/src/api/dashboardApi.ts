@@ -4,7 +4,8 @@ import {
   DashboardStatsResponse, 
   HourlyChartData, 
   DailyChartData,
-  ChartRequest 
+  ChartRequest,
+  DashboardOverviewResponse
 } from '../types/dashboard.types';
 
 export const dashboardApi = baseApi.injectEndpoints({
@@ -32,6 +33,15 @@ export const dashboardApi = baseApi.injectEndpoints({
       }),
       invalidatesTags: ['Dashboard'],
     }),
+    // Spring Backend: POST /dashboard/overview - stats, daily chart, hourly chart and comparison in one call
+    getDashboardOverview: builder.mutation<DashboardOverviewResponse, DashboardStatsRequest>({
+      query: (body) => ({
+        url: '/dashboard/overview',
+        method: 'POST',
+        body,
+      }),
+      invalidatesTags: ['Dashboard'],
+    }),
   }),
 });
 
@@ -39,6 +49,7 @@ export const {
   useGetDashboardStatsMutation,
   useGetHourlyChartDataQuery,
   useGetChartDataMutation,
+  useGetDashboardOverviewMutation,
 } = dashboardApi;
 
 export const useGetDashboardStatsQuery = useGetDashboardStatsMutation;
@@ -12,10 +12,12 @@ export const qrTrackingApi = createApi({
   }),
   tagTypes: ['QRTracking'],
   endpoints: (builder) => ({
-    trackQRScan: builder.mutation<void, void>({
-      query: () => ({
+    // Optional source code identifies the table sticker or flyer the QR code was printed on
+    trackQRScan: builder.mutation<void, string | undefined>({
+      query: (source) => ({
         url: '/qr-track',
         method: 'POST',
+        params: source ? { source } : undefined,
       }),
       invalidatesTags: ['QRTracking'],
     }),
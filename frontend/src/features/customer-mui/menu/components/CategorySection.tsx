@@ -2,7 +2,7 @@ import React from 'react';
 import { motion } from 'framer-motion';
 import { Box, Typography, Grid, Card, CardContent, Skeleton, useTheme, useMediaQuery } from '@mui/material';
 import { UtensilsCrossed as RestaurantIcon } from 'lucide-react';
-import { Category, Item, useGetItemsQuery } from '../../../../api/customerApi';
+import { Category, Item, useGetItemsByCursorQuery } from '../../../../api/customerApi';
 import ItemCard from './ItemCard';
 
 interface CategorySectionProps {
@@ -20,9 +20,8 @@ const CategorySection: React.FC<CategorySectionProps> = ({
 }) => {
   const theme = useTheme();
   const isMobile = useMediaQuery(theme.breakpoints.down('md'));
-  const { data: itemsData, isLoading: itemsLoading } = useGetItemsQuery({
+  const { data: itemsData, isLoading: itemsLoading } = useGetItemsByCursorQuery({
     categoryId: category.categoryId,
-    page: 0,
     size: 50
   });
 
@@ -2,7 +2,7 @@ import React, { useMemo } from 'react';
 import { motion } from 'framer-motion';
 import { Box, Typography, useTheme, useMediaQuery } from '@mui/material';
 import { UtensilsCrossed as RestaurantIcon } from 'lucide-react';
-import { Category, useGetItemsQuery } from '../../../../api/customerApi';
+import { Category, useGetItemsByCursorQuery } from '../../../../api/customerApi';
 import CategorySection from './CategorySection';
 
 interface SearchResultsProps {
@@ -23,9 +23,8 @@ const SearchResults: React.FC<SearchResultsProps> = ({
   
   // Get items for all categories to check for search results
   const categoryQueries = categories.map(category => {
-    const { data: itemsData, isLoading } = useGetItemsQuery({
+    const { data: itemsData, isLoading } = useGetItemsByCursorQuery({
       categoryId: category.categoryId,
-      page: 0,
       size: 50
     });
     
@@ -10,6 +10,7 @@ import {
   useMediaQuery,
   Alert,
   CircularProgress,
+  Chip,
 } from '@mui/material';
 import {
   useGetDashboardStatsMutation,
@@ -17,6 +18,7 @@ import {
   useGetChartDataMutation,
 } from '../../api/dashboardApi';
 import { useAppSelector, useAppDispatch } from '../../hooks/redux';
+import { useLiveScans } from '../../hooks/useLiveScans';
 import { setSelectedRange, setCustomDates } from '../../store/slices/dashboardSlice';
 import { DateRangeType } from '../../types/dashboard.types';
 import StatsCard from '../../components/dashboard/StatsCard';
@@ -52,6 +54,9 @@ const Dashboard = () => {
   // Don't make API calls if not logged in
   const skipApiCalls = !isAuthenticated || !accessToken;
 
+  // Scans in the current hour, pushed by the server while the dashboard is open
+  const { liveScans, connected: liveConnected } = useLiveScans(skipApiCalls ? null : accessToken);
+
   // Mock data removed - show skeleton if no real data
 
   // Mutation hooks for stats (Spring Backend @RequestBody için)
@@ -209,6 +214,15 @@ const Dashboard = () => {
             <Typography variant="body2" color="text.secondary">
               QR menyu skan fəaliyyətinizi və performans göstəricilərini izləyin
             </Typography>
+            {liveConnected && liveScans && (
+              <Chip
+                size="small"
+                color="success"
+                variant="outlined"
+                label={`Canlı · bu saat ${liveScans.scans} skan`}
+                sx={{ mt: 1 }}
+              />
+            )}
           </Box>
           
           {/* Date Range Picker */}
@@ -0,0 +1,101 @@
+import { useEffect, useState } from 'react';
+
+const LIVE_SCANS_URL = `${import.meta.env.VITE_API_BASE_URL || '/api/v1'}/dashboard/live`;
+const RECONNECT_DELAY_MS = 5000;
+
+export interface LiveScans {
+  hourStart: string;
+  scans: number;
+}
+
+// EventSource cannot send the Authorization header, so the stream is read with fetch instead
+export const useLiveScans = (accessToken: string | null | undefined) => {
+  const [liveScans, setLiveScans] = useState<LiveScans | null>(null);
+  const [connected, setConnected] = useState(false);
+
+  useEffect(() => {
+    if (!accessToken) {
+      return;
+    }
+    const controller = new AbortController();
+    let reconnectTimer: ReturnType<typeof setTimeout> | undefined;
+
+    const connect = async () => {
+      let retryMs = RECONNECT_DELAY_MS;
+      try {
+        const response = await fetch(LIVE_SCANS_URL, {
+          headers: {
+            Accept: 'text/event-stream',
+            Authorization: `Bearer ${accessToken}`,
+          },
+          signal: controller.signal,
+        });
+        // An expired token is replaced by the next refresh, which reconnects through the effect
+        if (response.status === 401 || response.status === 403) {
+          return;
+        }
+        // The server caps live clients and says when to try again
+        if (response.status === 503) {
+          retryMs = (parseInt(response.headers.get('Retry-After') || '', 10) || RECONNECT_DELAY_MS / 1000) * 1000;
+        }
+        if (response.ok && response.body) {
+          setConnected(true);
+          await readEvents(response.body, setLiveScans);
+        }
+      } catch (error) {
+        if (controller.signal.aborted) {
+          return;
+        }
+        if (import.meta.env.VITE_ENABLE_CONSOLE_LOGS === 'true') {
+          console.error('Live scan stream failed:', error);
+        }
+      }
+      setConnected(false);
+      if (!controller.signal.aborted) {
+        reconnectTimer = setTimeout(connect, retryMs);
+      }
+    };
+
+    connect();
+    return () => {
+      controller.abort();
+      clearTimeout(reconnectTimer);
+      setConnected(false);
+    };
+  }, [accessToken]);
+
+  return { liveScans, connected };
+};
+
+// Parses "scans" events until the server closes the stream; comments are heartbeats and ignored
+const readEvents = async (body: ReadableStream<Uint8Array>, onScans: (update: LiveScans) => void) => {
+  const reader = body.getReader();
+  const decoder = new TextDecoder();
+  let buffer = '';
+  for (;;) {
+    const { done, value } = await reader.read();
+    if (done) {
+      return;
+    }
+    buffer += decoder.decode(value, { stream: true }).replace(/\r\n?/g, '\n');
+    let boundary = buffer.indexOf('\n\n');
+    while (boundary >= 0) {
+      const block = buffer.slice(0, boundary);
+      buffer = buffer.slice(boundary + 2);
+      boundary = buffer.indexOf('\n\n');
+
+      let event = 'message';
+      const data: string[] = [];
+      for (const line of block.split('\n')) {
+        if (line.startsWith('event:')) {
+          event = line.slice(6).trim();
+        } else if (line.startsWith('data:')) {
+          data.push(line.slice(5).trimStart());
+        }
+      }
+      if (event === 'scans' && data.length > 0) {
+        onScans(JSON.parse(data.join('\n')) as LiveScans);
+      }
+    }
+  }
+};
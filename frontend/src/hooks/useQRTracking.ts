@@ -4,6 +4,8 @@ import { useTrackQRScanMutation } from '../api/qrTrackingApi';
 const QR_TRACKING_SESSION_KEY = 'qr_tracked';
 const QR_SOURCE_PARAM = 'source';
 const QR_SOURCE_VALUE = 'qr';
+const QR_CODE_PARAM = 'code';
+const QR_PIXEL_URL = '/api/v1/qr-pixel';
 
 export const useQRTracking = () => {
   const [trackQRScan] = useTrackQRScanMutation();
@@ -28,8 +30,18 @@ export const useQRTracking = () => {
     if (sourceParam === QR_SOURCE_VALUE) {
       hasTracked.current = true;
 
-      // Track QR scan
-      trackQRScan()
+      const code = urlParams.get(QR_CODE_PARAM) ?? undefined;
+
+      // Prefer the lightweight beacon endpoint; it is queued by the browser and needs no response handling
+      const pixelUrl = QR_PIXEL_URL + (code ? `?source=${encodeURIComponent(code)}` : '');
+      if (typeof navigator.sendBeacon === 'function' && navigator.sendBeacon(pixelUrl)) {
+        sessionStorage.setItem(QR_TRACKING_SESSION_KEY, 'true');
+        cleanURL();
+        return;
+      }
+
+      // Track QR scan, attributed to the printed code when the QR URL carries one
+      trackQRScan(code)
         .unwrap()
         .then(() => {
           console.log('QR scan tracked successfully');
@@ -51,6 +63,7 @@ export const useQRTracking = () => {
     try {
       const url = new URL(window.location.href);
       url.searchParams.delete(QR_SOURCE_PARAM);
+      url.searchParams.delete(QR_CODE_PARAM);
       
       // Use replaceState to update URL without page reload
       const cleanedURL = url.pathname + (url.search || '');
@@ -33,4 +33,13 @@ export interface ChartRequest {
   rangeType: DateRangeType;
   startDate?: string;
   endDate?: string;
+  maxPoints?: number;
+}
+
+export interface DashboardOverviewResponse {
+  stats: DashboardStatsResponse;
+  previousPeriodScans: number;
+  changePercent: number | null;
+  dailyChart: DailyChartData[];
+  hourlyToday: HourlyChartData[];
 }